@@ -142,12 +142,20 @@ export default function PostsPage() {
                         className={`inline-flex items-center rounded-full px-3 py-1 text-xs font-semibold uppercase tracking-wide ${
                           article.status === "published"
                             ? "bg-emerald-100 text-emerald-800"
+                            : article.status === "scheduled"
+                            ? "bg-blue-100 text-blue-800"
                             : article.status === "archived"
                             ? "bg-orange-100 text-orange-800"
                             : "bg-slate-100 text-slate-800"
                         }`}
                       >
-                        {article.status === "published" ? "已发布" : article.status === "archived" ? "已归档" : "草稿"}
+                        {article.status === "published"
+                          ? "已发布"
+                          : article.status === "scheduled"
+                          ? "定时发布"
+                          : article.status === "archived"
+                          ? "已归档"
+                          : "草稿"}
                       </span>
                     </div>
                     <div className="text-sm text-slate-600 dark:text-slate-300">
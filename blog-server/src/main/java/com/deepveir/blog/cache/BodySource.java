@@ -0,0 +1,29 @@
+package com.deepveir.blog.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 可由 {@link CachedBodyWriter} 直接写出的预序列化响应体
+ * 实现可以位于堆内（{@link CachedBody}）或堆外（{@link OffHeapBodyStore}）；
+ * 堆外实现在 close 之前持有对存储空间的引用，写出后必须关闭。
+ */
+public interface BodySource extends AutoCloseable {
+
+    String getContentType();
+
+    String getEtag();
+
+    boolean hasGzip();
+
+    /**
+     * 原始（gzip = false）或压缩表示的字节数
+     */
+    int length(boolean gzip);
+
+    void writeTo(OutputStream out, boolean gzip) throws IOException;
+
+    @Override
+    default void close() {
+    }
+}
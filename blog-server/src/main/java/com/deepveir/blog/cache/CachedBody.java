@@ -0,0 +1,83 @@
+package com.deepveir.blog.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 预序列化、预压缩的响应体
+ * 同时保存原始字节和 gzip 字节，命中缓存时按 Accept-Encoding 直接写出，不再经过 Jackson 和压缩
+ */
+public final class CachedBody implements BodySource {
+
+    /** 小于该长度的响应不值得压缩 */
+    private static final int MIN_COMPRESS_SIZE = 1024;
+
+    private final byte[] identity;
+    private final byte[] gzip;
+    private final String contentType;
+    private final String etag;
+
+    public CachedBody(byte[] identity, String contentType) {
+        this.identity = identity;
+        this.gzip = identity.length >= MIN_COMPRESS_SIZE ? gzip(identity) : null;
+        this.contentType = contentType;
+        this.etag = etag(identity);
+    }
+
+    /**
+     * 将对象序列化为 JSON 响应体
+     * Jackson 直接写入字节流，不生成中间 String
+     */
+    public static CachedBody json(ObjectMapper objectMapper, Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        objectMapper.writeValue(out, value);
+        return new CachedBody(out.toByteArray(), MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    public byte[] getIdentity() { return identity; }
+    public byte[] getGzip() { return gzip; }
+    @Override public boolean hasGzip() { return gzip != null; }
+    @Override public String getContentType() { return contentType; }
+    @Override public String getEtag() { return etag; }
+
+    @Override
+    public int length(boolean gzip) {
+        return gzip ? this.gzip.length : identity.length;
+    }
+
+    @Override
+    public void writeTo(OutputStream out, boolean gzip) throws IOException {
+        out.write(gzip ? this.gzip : identity);
+    }
+
+    /**
+     * 缓存占用的字节数（原始 + 压缩）
+     */
+    public int weight() {
+        return identity.length + (gzip != null ? gzip.length : 0);
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(256, data.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out, 8192)) {
+            gz.write(data);
+        } catch (IOException e) {
+            // ByteArrayOutputStream 不会抛出 IO 异常
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        // 同一内容的 gzip 与原始表示字节不同，因此使用弱 ETag
+        return "W/\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(data.length) + "\"";
+    }
+}
@@ -0,0 +1,70 @@
+package com.deepveir.blog.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+
+/**
+ * 将 {@link CachedBody} 等预序列化响应体直接写入 Servlet 输出流
+ * 负责 Accept-Encoding 协商、ETag / 304 以及 Vary 头
+ */
+public final class CachedBodyWriter {
+
+    private CachedBodyWriter() {
+    }
+
+    public static void write(HttpServletRequest request, HttpServletResponse response, BodySource body)
+            throws IOException {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.ETAG, body.getEtag());
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.contains(body.getEtag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        boolean gzip = body.hasGzip() && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (gzip) {
+            // 已设置 Content-Encoding 时 Tomcat 不会再做二次压缩
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentType(body.getContentType());
+        response.setContentLength(body.length(gzip));
+        body.writeTo(response.getOutputStream(), gzip);
+    }
+
+    /**
+     * 解析 Accept-Encoding，支持 q 值（例如 "gzip;q=0" 表示拒绝）
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if ("gzip".equalsIgnoreCase(coding) || "x-gzip".equalsIgnoreCase(coding)) {
+                return accepted;
+            }
+            if ("*".equals(coding)) {
+                wildcard = accepted;
+            }
+        }
+        return wildcard;
+    }
+}
@@ -0,0 +1,101 @@
+package com.deepveir.blog.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 集群缓存失效总线
+ * 写操作发布 (region, key) 形式的失效消息，本实例的监听器立即收到，同时通过
+ * {@link InvalidationTransport} 广播给其他实例。在事务中发布时延迟到提交之后发送，
+ * 避免其他实例在提交前重新加载到旧数据。
+ *
+ * 消息只表示“这个 key 可能已变化”，监听器自行决定清除还是重新加载。
+ * 网络传输为至多一次投递，依赖本地缓存的数据应同时设置过期时间兜底。
+ */
+public class InvalidationBus {
+
+    public static final String REGION_ARTICLE = "article";
+    public static final String REGION_PAGE = "page";
+    public static final String REGION_TAXONOMY = "taxonomy";
+    public static final String REGION_USER = "user";
+    public static final String REGION_AUTHOR = "author";
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final InvalidationTransport transport;
+    private final Map<String, List<InvalidationListener>> listeners = new ConcurrentHashMap<>();
+
+    public InvalidationBus(InvalidationTransport transport) {
+        this.transport = transport;
+        transport.start(this::receive);
+    }
+
+    public void subscribe(String region, InvalidationListener listener) {
+        listeners.computeIfAbsent(region, r -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * 发布失效消息；当前线程处于事务中时在提交后发送，回滚则不发送
+     */
+    public void publish(String region, String key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(region, key);
+                }
+            });
+        } else {
+            send(region, key);
+        }
+    }
+
+    private void send(String region, String key) {
+        dispatch(region, key, false);
+        try {
+            transport.send(instanceId + '\n' + region + '\n' + key);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast invalidation {}:{}", region, key, e);
+        }
+    }
+
+    private void receive(String message) {
+        String[] parts = message.split("\n", 3);
+        if (parts.length != 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+        dispatch(parts[1], parts[2], true);
+    }
+
+    private void dispatch(String region, String key, boolean remote) {
+        for (InvalidationListener listener : listeners.getOrDefault(region, List.of())) {
+            try {
+                listener.invalidate(key, remote);
+            } catch (Exception e) {
+                log.warn("Invalidation listener failed for {}:{}", region, key, e);
+            }
+        }
+    }
+
+    public void shutdown() {
+        transport.stop();
+    }
+
+    @FunctionalInterface
+    public interface InvalidationListener {
+        /**
+         * @param key    失效的 key
+         * @param remote 是否来自其他实例（本实例发布的消息也会以 remote=false 投递）
+         */
+        void invalidate(String key, boolean remote);
+    }
+}
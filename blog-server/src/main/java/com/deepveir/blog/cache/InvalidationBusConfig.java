@@ -0,0 +1,34 @@
+package com.deepveir.blog.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 按 blog.invalidation.transport 选择失效消息的传输方式：local（默认，单实例）或 redis
+ */
+@Configuration
+public class InvalidationBusConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public InvalidationBus invalidationBus(InvalidationTransport transport) {
+        return new InvalidationBus(transport);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.invalidation.transport", havingValue = "redis")
+    public InvalidationTransport redisInvalidationTransport(StringRedisTemplate redisTemplate,
+                                                            RedisConnectionFactory connectionFactory,
+                                                            @Value("${blog.invalidation.channel:blog:invalidation}") String channel) {
+        return new RedisInvalidationTransport(redisTemplate, connectionFactory, channel);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.invalidation.transport", havingValue = "local", matchIfMissing = true)
+    public InvalidationTransport localInvalidationTransport() {
+        return new LocalInvalidationTransport();
+    }
+}
@@ -0,0 +1,18 @@
+package com.deepveir.blog.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * 失效消息的传输方式
+ */
+public interface InvalidationTransport {
+
+    /**
+     * 开始接收消息
+     */
+    void start(Consumer<String> receiver);
+
+    void send(String message);
+
+    void stop();
+}
@@ -0,0 +1,34 @@
+package com.deepveir.blog.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 进程内传输：同一个 JVM 中的所有总线共享一个静态 hub。
+ * 单实例部署时等同于不广播；在同一进程中启动多个应用上下文时可以模拟多实例。
+ */
+public class LocalInvalidationTransport implements InvalidationTransport {
+
+    private static final List<Consumer<String>> HUB = new CopyOnWriteArrayList<>();
+
+    private Consumer<String> receiver;
+
+    @Override
+    public void start(Consumer<String> receiver) {
+        this.receiver = receiver;
+        HUB.add(receiver);
+    }
+
+    @Override
+    public void send(String message) {
+        for (Consumer<String> peer : HUB) {
+            peer.accept(message);
+        }
+    }
+
+    @Override
+    public void stop() {
+        HUB.remove(receiver);
+    }
+}
@@ -0,0 +1,328 @@
+package com.deepveir.blog.cache;
+
+import com.deepveir.blog.util.CountMinSketch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 堆外的响应体存储，用于已发布文章详情这类体积大、数量多的响应
+ * 存储空间由 1MB 的直接内存 slab 组成，按需分配，切分为固定大小的块；每个条目占用若干个块，原始字节与 gzip 字节连续存放。
+ * 堆内只保留索引（块号数组、长度、ETag），文章正文不再作为长期存活的大对象留在堆中。
+ * 空间不足时按 TinyLFU 准入：先按 LRU 顺序收集足够的未被读取的条目作为淘汰候选，新条目的访问频率不低于其中每一个时才整体淘汰并写入，
+ * 否则不缓存新条目，一次性访问的冷门文章不会把反复被访问的热门文章挤出去。频率相同时按 LRU 接纳，旧条目不会一直占住空间。
+ * 访问频率记录在 {@link CountMinSketch} 中（包括未命中），访问次数达到样本量后整体减半。
+ * 正在写出的条目失效时，块在读取方关闭 {@link BodySource} 后才回收。
+ * 直接内存受 -XX:MaxDirectMemorySize 限制（默认与 -Xmx 相同），max-size 需要在其范围内。
+ */
+@Component
+public class OffHeapBodyStore {
+
+    private static final int SLAB_BYTES = 1 << 20;
+    /** 估算条目数时假定的平均条目大小 */
+    private static final int AVERAGE_ENTRY_BYTES = 8 * 1024;
+
+    private final int blockSize;
+    private final int blocksPerSlab;
+    private final int maxBlocks;
+    // 只在持有锁时追加；读取方在持有锁时取得条目引用，因此能看到条目所在的 slab
+    private final ByteBuffer[] slabs;
+    private int slabCount;
+    // 空闲块号栈
+    private final int[] freeBlocks;
+    private int freeCount;
+
+    // 按访问顺序排列，第一个元素为最久未访问的条目
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final CountMinSketch sketch;
+    private final int sampleSize;
+    private int samples;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long rejections;
+
+    public OffHeapBodyStore(@Value("${blog.cache.offheap.max-size:64MB}") DataSize maxSize,
+                            @Value("${blog.cache.offheap.block-size:4KB}") DataSize blockSize) {
+        long block = blockSize.toBytes();
+        if (block < 512 || block > SLAB_BYTES || Long.bitCount(block) != 1) {
+            throw new IllegalArgumentException("blog.cache.offheap.block-size must be a power of two between 512B and 1MB");
+        }
+        this.blockSize = (int) block;
+        this.blocksPerSlab = SLAB_BYTES / this.blockSize;
+        long maxSlabs = Math.min(Math.max(maxSize.toBytes() / SLAB_BYTES, 1), Integer.MAX_VALUE / blocksPerSlab);
+        this.maxBlocks = (int) maxSlabs * blocksPerSlab;
+        this.slabs = new ByteBuffer[(int) maxSlabs];
+        this.freeBlocks = new int[maxBlocks];
+        int expectedEntries = (int) Math.min(Math.max((long) maxBlocks * this.blockSize / AVERAGE_ENTRY_BYTES, 256), 1 << 20);
+        this.sketch = new CountMinSketch(4, expectedEntries);
+        this.sampleSize = expectedEntries * 10;
+    }
+
+    /**
+     * 未命中时返回 null；返回的 {@link BodySource} 写出后必须关闭
+     */
+    public BodySource get(String key) {
+        synchronized (entries) {
+            recordAccess(key);
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            entry.refs++;
+            return new Handle(entry);
+        }
+    }
+
+    /**
+     * 将响应体复制到堆外；超过总容量 1/4、访问频率低于需要淘汰的条目或暂时无法腾出空间（剩余的块都在被读取）时不缓存
+     */
+    public void put(String key, CachedBody body) {
+        int identityLength = body.getIdentity().length;
+        int gzipLength = body.hasGzip() ? body.getGzip().length : 0;
+        int needed = (int) (((long) identityLength + gzipLength + blockSize - 1) / blockSize);
+        synchronized (entries) {
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                retire(previous);
+            }
+            if (needed > maxBlocks / 4) {
+                rejections++;
+                return;
+            }
+            int[] blocks = allocate(key, needed);
+            if (blocks == null) {
+                rejections++;
+                return;
+            }
+            Entry entry = new Entry(key, blocks, identityLength, gzipLength, body.getContentType(), body.getEtag());
+            copyIn(blocks, 0, body.getIdentity());
+            if (gzipLength > 0) {
+                copyIn(blocks, identityLength, body.getGzip());
+            }
+            entries.put(key, entry);
+        }
+    }
+
+    public void invalidate(String key) {
+        synchronized (entries) {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                retire(entry);
+            }
+        }
+    }
+
+    /**
+     * 移除全部条目；正在写出的条目在关闭后回收
+     */
+    public void clear() {
+        synchronized (entries) {
+            for (Entry entry : entries.values()) {
+                retire(entry);
+            }
+            entries.clear();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        synchronized (entries) {
+            long reservedBlocks = (long) slabCount * blocksPerSlab;
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("maxBytes", (long) maxBlocks * blockSize);
+            stats.put("reservedBytes", reservedBlocks * blockSize);
+            stats.put("usedBytes", (reservedBlocks - freeCount) * blockSize);
+            stats.put("entries", entries.size());
+            stats.put("hits", hits);
+            stats.put("misses", misses);
+            stats.put("evictions", evictions);
+            stats.put("rejections", rejections);
+            return stats;
+        }
+    }
+
+    private void recordAccess(String key) {
+        sketch.increment(key);
+        if (++samples >= sampleSize) {
+            sketch.halve();
+            samples /= 2;
+        }
+    }
+
+    /**
+     * 分配 needed 个块：优先使用空闲块，其次新建 slab，最后按 LRU 淘汰未被读取的条目
+     * 正在被读取的条目淘汰后也不能立即回收块，因此跳过。先收集足够的淘汰候选，其余条目不够或其中有访问频率高于 key 的条目时
+     * 返回 null，不淘汰任何条目。
+     */
+    private int[] allocate(String key, int needed) {
+        while (freeCount < needed && slabCount < slabs.length) {
+            addSlab();
+        }
+        if (freeCount < needed) {
+            int frequency = sketch.estimate(key);
+            List<Entry> victims = new ArrayList<>();
+            long reclaimable = freeCount;
+            for (Entry entry : entries.values()) {
+                if (reclaimable >= needed) {
+                    break;
+                }
+                if (entry.refs > 0) {
+                    continue;
+                }
+                if (sketch.estimate(entry.key) > frequency) {
+                    return null;
+                }
+                victims.add(entry);
+                reclaimable += entry.blocks.length;
+            }
+            if (reclaimable < needed) {
+                return null;
+            }
+            for (Entry victim : victims) {
+                entries.remove(victim.key);
+                evictions++;
+                retire(victim);
+            }
+        }
+        int[] blocks = new int[needed];
+        for (int i = 0; i < needed; i++) {
+            blocks[i] = freeBlocks[--freeCount];
+        }
+        return blocks;
+    }
+
+    private void addSlab() {
+        int first = slabCount * blocksPerSlab;
+        slabs[slabCount++] = ByteBuffer.allocateDirect(SLAB_BYTES);
+        // 倒序入栈，新 slab 的块按地址顺序分配
+        for (int i = blocksPerSlab - 1; i >= 0; i--) {
+            freeBlocks[freeCount++] = first + i;
+        }
+    }
+
+    private void retire(Entry entry) {
+        entry.removed = true;
+        if (entry.refs == 0) {
+            free(entry);
+        }
+    }
+
+    private void free(Entry entry) {
+        for (int block : entry.blocks) {
+            freeBlocks[freeCount++] = block;
+        }
+    }
+
+    private void copyIn(int[] blocks, int offset, byte[] data) {
+        int written = 0;
+        while (written < data.length) {
+            int position = offset + written;
+            int block = blocks[position / blockSize];
+            int inBlock = position % blockSize;
+            int length = Math.min(blockSize - inBlock, data.length - written);
+            slab(block).put(slabOffset(block) + inBlock, data, written, length);
+            written += length;
+        }
+    }
+
+    private ByteBuffer slab(int block) {
+        return slabs[block / blocksPerSlab];
+    }
+
+    private int slabOffset(int block) {
+        return (block % blocksPerSlab) * blockSize;
+    }
+
+    private static final class Entry {
+        final String key;
+        final int[] blocks;
+        final int identityLength;
+        final int gzipLength;
+        final String contentType;
+        final String etag;
+        int refs;
+        boolean removed;
+
+        Entry(String key, int[] blocks, int identityLength, int gzipLength, String contentType, String etag) {
+            this.key = key;
+            this.blocks = blocks;
+            this.identityLength = identityLength;
+            this.gzipLength = gzipLength;
+            this.contentType = contentType;
+            this.etag = etag;
+        }
+    }
+
+    /**
+     * 持有条目引用期间块不会被复用；读取使用绝对位置，多个请求可以同时写出同一条目
+     */
+    private final class Handle implements BodySource {
+
+        private final Entry entry;
+        private boolean closed;
+
+        Handle(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public String getContentType() {
+            return entry.contentType;
+        }
+
+        @Override
+        public String getEtag() {
+            return entry.etag;
+        }
+
+        @Override
+        public boolean hasGzip() {
+            return entry.gzipLength > 0;
+        }
+
+        @Override
+        public int length(boolean gzip) {
+            return gzip ? entry.gzipLength : entry.identityLength;
+        }
+
+        @Override
+        public void writeTo(OutputStream out, boolean gzip) throws IOException {
+            int offset = gzip ? entry.identityLength : 0;
+            int remaining = length(gzip);
+            byte[] chunk = new byte[Math.min(blockSize, remaining)];
+            while (remaining > 0) {
+                int block = entry.blocks[offset / blockSize];
+                int inBlock = offset % blockSize;
+                int length = Math.min(blockSize - inBlock, remaining);
+                slab(block).get(slabOffset(block) + inBlock, chunk, 0, length);
+                out.write(chunk, 0, length);
+                offset += length;
+                remaining -= length;
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (entries) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                if (--entry.refs == 0 && entry.removed) {
+                    free(entry);
+                }
+            }
+        }
+    }
+}
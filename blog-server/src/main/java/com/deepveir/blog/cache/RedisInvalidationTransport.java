@@ -0,0 +1,47 @@
+package com.deepveir.blog.cache;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub 传输，所有实例订阅同一个频道
+ */
+public class RedisInvalidationTransport implements InvalidationTransport {
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer container;
+    private final ChannelTopic topic;
+
+    public RedisInvalidationTransport(StringRedisTemplate redisTemplate,
+                                      RedisConnectionFactory connectionFactory,
+                                      String channel) {
+        this.redisTemplate = redisTemplate;
+        this.topic = new ChannelTopic(channel);
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+    }
+
+    @Override
+    public void start(Consumer<String> receiver) {
+        container.addMessageListener(
+                (message, pattern) -> receiver.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                topic);
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @Override
+    public void send(String message) {
+        redisTemplate.convertAndSend(topic.getTopic(), message);
+    }
+
+    @Override
+    public void stop() {
+        container.stop();
+    }
+}
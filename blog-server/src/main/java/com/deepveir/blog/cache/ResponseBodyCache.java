@@ -0,0 +1,281 @@
+package com.deepveir.blog.cache;
+
+import com.deepveir.blog.util.CountMinSketch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 热点响应（页面）的预压缩字节缓存，条目由调用方在内容变化时主动失效
+ * 已发布文章的响应体缓存在 {@link OffHeapBodyStore} 中，不放在这里。
+ *
+ * 按字节数（原始 + gzip + 键）计算容量，淘汰策略为 W-TinyLFU：
+ * 新条目先进入占容量 1% 的窗口 LRU，被挤出窗口后需要与主区域的淘汰候选比较访问频率，频率更高才能进入主区域，
+ * 一次性访问的大响应不会把反复被访问的热门条目挤出去。主区域为分段 LRU，再次命中的条目从试用段晋升到保护段（占 80%）。
+ * 访问频率记录在 {@link CountMinSketch} 中，访问次数达到样本量后整体减半，旧的热度逐渐失效。
+ */
+@Component
+public class ResponseBodyCache {
+
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+    /** 估算条目数时假定的平均条目大小 */
+    private static final int AVERAGE_ENTRY_BYTES = 8 * 1024;
+    /** 每个条目除字节数组外的固定开销（节点、三个 Map 中的链表项与键字符串头） */
+    private static final int ENTRY_OVERHEAD = 160;
+
+    private enum Segment { WINDOW, PROBATION, PROTECTED }
+
+    private final long maxBytes;
+    private final long windowMax;
+    private final long mainMax;
+    private final long protectedMax;
+    private final CountMinSketch sketch;
+    private final int sampleSize;
+
+    private final Map<String, Node> index = new HashMap<>();
+    // 三段均按访问顺序排列，迭代器的第一个元素为最久未访问的条目
+    private final LinkedHashMap<String, Node> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Node> probation = new LinkedHashMap<>(64, 0.75f, true);
+    private final LinkedHashMap<String, Node> protect = new LinkedHashMap<>(64, 0.75f, true);
+    private long windowBytes;
+    private long probationBytes;
+    private long protectedBytes;
+    private int samples;
+
+    private long hits;
+    private long misses;
+    private long puts;
+    private long evictions;
+    private long evictedBytes;
+    private long rejections;
+
+    public ResponseBodyCache(@Value("${blog.cache.response.max-size:32MB}") DataSize maxSize) {
+        this.maxBytes = Math.max(maxSize.toBytes(), 64 * 1024);
+        this.windowMax = (long) (maxBytes * WINDOW_RATIO);
+        this.mainMax = maxBytes - windowMax;
+        this.protectedMax = (long) (mainMax * PROTECTED_RATIO);
+        int expectedEntries = (int) Math.min(Math.max(maxBytes / AVERAGE_ENTRY_BYTES, 256), 1 << 20);
+        this.sketch = new CountMinSketch(4, expectedEntries);
+        this.sampleSize = expectedEntries * 10;
+    }
+
+    public CachedBody get(String key) {
+        synchronized (index) {
+            recordAccess(key);
+            Node node = index.get(key);
+            if (node == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            onHit(node);
+            return node.body;
+        }
+    }
+
+    public void put(String key, CachedBody body) {
+        long weight = body.weight() + key.length() * 2L + ENTRY_OVERHEAD;
+        synchronized (index) {
+            Node existing = index.remove(key);
+            if (existing != null) {
+                unlink(existing);
+            }
+            if (weight > mainMax) {
+                // 超过主区域容量的响应不缓存
+                rejections++;
+                return;
+            }
+            Node node = new Node(key, body, weight);
+            index.put(key, node);
+            window.put(key, node);
+            windowBytes += weight;
+            puts++;
+            evict();
+        }
+    }
+
+    /**
+     * 命中则直接返回，否则调用 loader 生成并放入缓存
+     */
+    public CachedBody get(String key, BodyLoader loader) throws IOException {
+        CachedBody body = get(key);
+        if (body == null) {
+            body = loader.load();
+            put(key, body);
+        }
+        return body;
+    }
+
+    public void invalidate(String key) {
+        synchronized (index) {
+            Node node = index.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        }
+    }
+
+    public void invalidatePrefix(String prefix) {
+        synchronized (index) {
+            Iterator<Node> it = index.values().iterator();
+            while (it.hasNext()) {
+                Node node = it.next();
+                if (node.key.startsWith(prefix)) {
+                    it.remove();
+                    unlink(node);
+                }
+            }
+        }
+    }
+
+    /**
+     * 容量与命中、淘汰统计，用于根据堆大小调整 max-size
+     */
+    public Map<String, Object> getStats() {
+        synchronized (index) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("maxBytes", maxBytes);
+            stats.put("usedBytes", windowBytes + probationBytes + protectedBytes);
+            stats.put("entries", index.size());
+            stats.put("windowBytes", windowBytes);
+            stats.put("probationBytes", probationBytes);
+            stats.put("protectedBytes", protectedBytes);
+            stats.put("hits", hits);
+            stats.put("misses", misses);
+            stats.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+            stats.put("puts", puts);
+            stats.put("evictions", evictions);
+            stats.put("evictedBytes", evictedBytes);
+            stats.put("rejections", rejections);
+            return stats;
+        }
+    }
+
+    private void recordAccess(String key) {
+        sketch.increment(key);
+        if (++samples >= sampleSize) {
+            sketch.halve();
+            samples /= 2;
+        }
+    }
+
+    private void onHit(Node node) {
+        switch (node.segment) {
+            case WINDOW -> window.get(node.key);
+            case PROTECTED -> protect.get(node.key);
+            case PROBATION -> {
+                probation.remove(node.key);
+                probationBytes -= node.weight;
+                node.segment = Segment.PROTECTED;
+                protect.put(node.key, node);
+                protectedBytes += node.weight;
+                // 保护段超出时，最久未访问的条目降回试用段
+                while (protectedBytes > protectedMax && protect.size() > 1) {
+                    Node demoted = eldest(protect);
+                    protect.remove(demoted.key);
+                    protectedBytes -= demoted.weight;
+                    demoted.segment = Segment.PROBATION;
+                    probation.put(demoted.key, demoted);
+                    probationBytes += demoted.weight;
+                }
+            }
+        }
+    }
+
+    /**
+     * 窗口超出容量时，挤出的条目作为候选者与主区域最久未访问的条目比较访问频率，频率低的一方被淘汰
+     */
+    private void evict() {
+        while (windowBytes > windowMax && !window.isEmpty()) {
+            Node candidate = eldest(window);
+            window.remove(candidate.key);
+            windowBytes -= candidate.weight;
+            admit(candidate);
+        }
+    }
+
+    /**
+     * 先按试用段、保护段的 LRU 顺序收集足够腾出空间的淘汰候选，候选者的频率高于其中每一个时才整体淘汰；
+     * 否则拒绝候选者，主区域保持不变，不会出现淘汰了一部分条目后候选者仍被拒绝的情况
+     */
+    private void admit(Node candidate) {
+        long excess = probationBytes + protectedBytes + candidate.weight - mainMax;
+        if (excess > 0) {
+            int frequency = sketch.estimate(candidate.key);
+            List<Node> victims = new ArrayList<>();
+            Iterator<Node> it = probation.values().iterator();
+            boolean inProbation = true;
+            while (excess > 0) {
+                if (!it.hasNext() && inProbation) {
+                    it = protect.values().iterator();
+                    inProbation = false;
+                }
+                Node victim = it.next();
+                if (frequency <= sketch.estimate(victim.key)) {
+                    index.remove(candidate.key);
+                    rejections++;
+                    return;
+                }
+                victims.add(victim);
+                excess -= victim.weight;
+            }
+            for (Node victim : victims) {
+                index.remove(victim.key);
+                unlink(victim);
+                evictions++;
+                evictedBytes += victim.weight;
+            }
+        }
+        candidate.segment = Segment.PROBATION;
+        probation.put(candidate.key, candidate);
+        probationBytes += candidate.weight;
+    }
+
+    private void unlink(Node node) {
+        switch (node.segment) {
+            case WINDOW -> {
+                window.remove(node.key);
+                windowBytes -= node.weight;
+            }
+            case PROBATION -> {
+                probation.remove(node.key);
+                probationBytes -= node.weight;
+            }
+            case PROTECTED -> {
+                protect.remove(node.key);
+                protectedBytes -= node.weight;
+            }
+        }
+    }
+
+    private static Node eldest(LinkedHashMap<String, Node> segment) {
+        return segment.values().iterator().next();
+    }
+
+    private static final class Node {
+        final String key;
+        final CachedBody body;
+        final long weight;
+        Segment segment = Segment.WINDOW;
+
+        Node(String key, CachedBody body, long weight) {
+            this.key = key;
+            this.body = body;
+            this.weight = weight;
+        }
+    }
+
+    @FunctionalInterface
+    public interface BodyLoader {
+        CachedBody load() throws IOException;
+    }
+}
@@ -0,0 +1,57 @@
+package com.deepveir.blog.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 数据库版本迁移策略
+ * 默认只做校验，不会在普通启动时执行 DDL：没有迁移记录、存在待执行的脚本或已执行脚本被修改时启动失败，
+ * 避免新版本代码运行在旧的表结构上。发布新版本时先以 blog.migration.mode=migrate 单独启动一次执行迁移。
+ */
+@Configuration
+public class MigrationConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(MigrationConfig.class);
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${blog.migration.mode:validate}") String mode) {
+        return flyway -> {
+            switch (mode.toLowerCase()) {
+                case "migrate" -> {
+                    int applied = flyway.migrate().migrationsExecuted;
+                    log.info("Database migration finished, {} migration(s) applied", applied);
+                }
+                case "none" -> log.info("Database migration skipped");
+                default -> validate(flyway);
+            }
+        };
+    }
+
+    private void validate(Flyway flyway) {
+        MigrationInfoService info = flyway.info();
+        if (info.current() == null) {
+            throw new IllegalStateException("No migration history found, "
+                    + "start once with blog.migration.mode=migrate to baseline the schema");
+        }
+        MigrationInfo[] pending = info.pending();
+        if (pending.length > 0) {
+            StringBuilder versions = new StringBuilder();
+            for (MigrationInfo migration : pending) {
+                log.error("Pending migration V{} ({}) not applied", migration.getVersion(), migration.getDescription());
+                versions.append(versions.length() > 0 ? ", V" : "V").append(migration.getVersion());
+            }
+            throw new IllegalStateException("Pending migration(s) " + versions
+                    + " not applied, start once with blog.migration.mode=migrate to apply them");
+        }
+        // 校验已执行脚本是否被修改
+        flyway.validate();
+        log.info("Database schema validated at version {}", info.current().getVersion());
+    }
+}
@@ -0,0 +1,91 @@
+package com.deepveir.blog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * 读写分离数据源（配置了 blog.datasource.replica.url 时启用）
+ * 对外暴露的 DataSource 是 LazyConnectionDataSourceProxy：连接在第一条语句执行时才真正获取，
+ * 此时由 {@link ReplicaRoutingDataSource} 按当前事务的只读标记（@Transactional(readOnly = true)）
+ * 与从库延迟选择从库或主库。启动时由 {@link ReplicaRoutingVerifier} 检查只读事务确实到达从库。
+ */
+@Configuration
+@ConditionalOnProperty(name = "blog.datasource.replica.url")
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("blog.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${blog.datasource.replica.url}") String url,
+                                              @Value("${blog.datasource.replica.username:${spring.datasource.username}}") String username,
+                                              @Value("${blog.datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("ReplicaHikariCP");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${blog.datasource.replica.max-lag-seconds:5}") long maxLagSeconds,
+                                               @Value("${blog.datasource.replica.check-interval-ms:2000}") long checkIntervalMs) {
+        return new ReplicaLagMonitor(replica, maxLagSeconds, checkIntervalMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor monitor) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, monitor);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReplicaRoutingVerifier replicaRoutingVerifier(DataSource dataSource,
+                                                         PlatformTransactionManager transactionManager,
+                                                         ReplicaLagMonitor monitor,
+                                                         @Value("${blog.datasource.replica.verify-routing:true}") boolean enabled) {
+        return new ReplicaRoutingVerifier(dataSource, transactionManager, monitor, enabled);
+    }
+
+    /**
+     * 默认情况下 Hibernate 在整个 Session（open-in-view 时即整个请求）内持有同一个连接，
+     * 只读事务拿到的从库连接会被之后的写事务继续使用。改为事务结束即释放，
+     * 每个事务都重新按只读标记选择数据源。
+     * 该模式下 Hibernate 不会调用 Connection.setReadOnly，因此路由只看事务同步中的只读标记。
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionReleaseCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,129 @@
+package com.deepveir.blog.config;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 从库延迟检测
+ * 定期在从库执行 SHOW REPLICA STATUS，复制中断、延迟超过阈值或从库不可用时标记为不可用，
+ * 只读事务随之回退到主库；恢复后自动切回。启动完成前视为不可用。
+ *
+ * 从库账号需要 REPLICATION CLIENT 权限。
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replica;
+    private final long maxLagSeconds;
+    private final long checkIntervalMs;
+    private final ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "replica-lag-monitor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile boolean available;
+    private volatile long lagSeconds = -1;
+    // MySQL 8.0.22 之前只支持 SHOW SLAVE STATUS
+    private volatile boolean legacySyntax;
+    private boolean standaloneWarned;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagSeconds, long checkIntervalMs) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.maxLagSeconds = maxLagSeconds;
+        this.checkIntervalMs = checkIntervalMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        checker.scheduleWithFixedDelay(this::check, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * 立即检测一次，返回从库是否可用
+     */
+    public boolean checkNow() {
+        check();
+        return available;
+    }
+
+    /**
+     * 最近一次检测到的延迟秒数，未知时为 -1
+     */
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    private void check() {
+        boolean wasAvailable = available;
+        try {
+            Long lag = readLag();
+            lagSeconds = lag != null ? lag : -1;
+            available = lag != null && lag <= maxLagSeconds;
+        } catch (Exception e) {
+            lagSeconds = -1;
+            available = false;
+            if (wasAvailable) {
+                log.warn("Replica check failed, routing reads to primary", e);
+            }
+            return;
+        }
+        if (wasAvailable && !available) {
+            log.warn("Replica unavailable (lag: {}s, max: {}s), routing reads to primary", lagSeconds, maxLagSeconds);
+        } else if (!wasAvailable && available) {
+            log.info("Replica available (lag: {}s), routing read-only transactions to replica", lagSeconds);
+        }
+    }
+
+    /**
+     * 返回复制延迟秒数；复制线程未运行时返回 null
+     */
+    private Long readLag() {
+        List<Map<String, Object>> rows;
+        if (legacySyntax) {
+            rows = replica.queryForList("SHOW SLAVE STATUS");
+        } else {
+            try {
+                rows = replica.queryForList("SHOW REPLICA STATUS");
+            } catch (BadSqlGrammarException e) {
+                legacySyntax = true;
+                rows = replica.queryForList("SHOW SLAVE STATUS");
+            }
+        }
+        if (rows.isEmpty()) {
+            // 未配置复制的独立实例（例如本地用两个独立容器测试路由），视为没有延迟
+            if (!standaloneWarned) {
+                standaloneWarned = true;
+                log.warn("Replica data source is not configured as a replica, treating lag as 0");
+            }
+            return 0L;
+        }
+        Map<String, Object> status = rows.get(0);
+        Object lag = status.containsKey("Seconds_Behind_Source")
+                ? status.get("Seconds_Behind_Source")
+                : status.get("Seconds_Behind_Master");
+        return lag instanceof Number number ? number.longValue() : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checker.shutdownNow();
+    }
+}
@@ -0,0 +1,33 @@
+package com.deepveir.blog.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 按事务的只读标记路由：只读事务且从库可用时使用从库，其余情况（读写事务、无事务、从库不可用）使用主库
+ * 外层的 LazyConnectionDataSourceProxy 把真正获取连接推迟到第一条语句执行时，
+ * 此时事务同步已经记录了只读标记；不依赖 Connection.setReadOnly，
+ * Hibernate 在非 ON_CLOSE 的连接释放模式下不会对连接调用它。
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor monitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor) {
+        this.monitor = monitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && monitor.isAvailable()
+                ? Target.REPLICA : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,60 @@
+package com.deepveir.blog.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Objects;
+
+/**
+ * 读写分离的启动检查（两个实例：主库 + 从库）
+ * 通过应用实际使用的事务管理器分别开启读写事务与只读事务，比较两者连接到的 @@server_uuid：
+ * 从库可用时两者必须不同，否则说明只读事务没有被路由到从库，启动失败。
+ * 本地可用 docker-compose.replica.yml 启动两个实例验证；从库不可用时只打印警告并跳过。
+ * 关闭：blog.datasource.replica.verify-routing=false
+ */
+public class ReplicaRoutingVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingVerifier.class);
+
+    private static final String SERVER_SQL = "SELECT @@server_uuid";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readWrite;
+    private final TransactionTemplate readOnly;
+    private final ReplicaLagMonitor monitor;
+    private final boolean enabled;
+
+    public ReplicaRoutingVerifier(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                  ReplicaLagMonitor monitor, boolean enabled) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.monitor = monitor;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        if (!enabled) {
+            return;
+        }
+        if (!monitor.checkNow()) {
+            log.warn("Replica unavailable at startup, skipping read/write routing check");
+            return;
+        }
+        String primary = readWrite.execute(status -> jdbcTemplate.queryForObject(SERVER_SQL, String.class));
+        String replica = readOnly.execute(status -> jdbcTemplate.queryForObject(SERVER_SQL, String.class));
+        if (Objects.equals(primary, replica)) {
+            throw new IllegalStateException("Read-only transactions are not routed to the replica (both reached server "
+                    + primary + "), check blog.datasource.replica.* and the connection handling mode");
+        }
+        log.info("Read/write routing verified: read-write -> {}, read-only -> {}", primary, replica);
+    }
+}
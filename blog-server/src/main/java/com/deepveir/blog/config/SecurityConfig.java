@@ -39,14 +39,20 @@ public class SecurityConfig {
             .cors(AbstractHttpConfigurer::disable) // 由 CorsFilter 处理
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // 文章历史版本与草稿包含未发布的内容，需要登录（须在 /api/articles/** 之前匹配）
+                .requestMatchers("/api/articles/*/revisions/**", "/api/articles/*/draft").authenticated()
                 // 公开接口
                 .requestMatchers("/api/auth/login", "/api/auth/register", "/api/auth/logout").permitAll()
                 .requestMatchers("/api/articles/**", "/api/categories/**", "/api/tags/**").permitAll()
+                // 缓存统计仅超级管理员可见（须在 /api/stats/** 之前匹配）
+                .requestMatchers("/api/stats/caches").hasRole("ADMIN")
                 .requestMatchers("/api/stats/**", "/api/site-stats/**").permitAll()
                 .requestMatchers("/error").permitAll()
                 // 需要认证的接口
                 .requestMatchers("/api/auth/me").authenticated()
                 .requestMatchers("/api/users/**", "/api/roles/**", "/api/menus/**", "/api/organizations/**").authenticated()
+                .requestMatchers("/api/audit-logs/**").authenticated()
+                .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/images/**", "/api/media/**").authenticated()
                 // 其他请求
                 .anyRequest().permitAll()
             )
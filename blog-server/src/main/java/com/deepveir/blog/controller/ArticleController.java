@@ -1,15 +1,33 @@
 package com.deepveir.blog.controller;
 
+import com.deepveir.blog.cache.BodySource;
+import com.deepveir.blog.cache.CachedBody;
+import com.deepveir.blog.cache.CachedBodyWriter;
+import com.deepveir.blog.dto.ArticleDraftDto;
 import com.deepveir.blog.dto.ArticleRequestDto;
 import com.deepveir.blog.entity.Article;
+import com.deepveir.blog.filter.JwtAuthenticationFilter;
+import com.deepveir.blog.service.ArchiveService;
+import com.deepveir.blog.service.ArticleBrowseService;
 import com.deepveir.blog.service.ArticleService;
+import com.deepveir.blog.service.AuditService;
+import com.deepveir.blog.service.DraftService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -20,9 +38,24 @@ import java.util.UUID;
 public class ArticleController {
 
     private final ArticleService articleService;
+    private final ObjectMapper objectMapper;
+    private final AuditService auditService;
+    private final DraftService draftService;
+    private final ArticleBrowseService articleBrowseService;
+    private final ArchiveService archiveService;
 
-    public ArticleController(ArticleService articleService) {
+    public ArticleController(ArticleService articleService,
+                             ObjectMapper objectMapper,
+                             AuditService auditService,
+                             DraftService draftService,
+                             ArticleBrowseService articleBrowseService,
+                             ArchiveService archiveService) {
         this.articleService = articleService;
+        this.objectMapper = objectMapper;
+        this.auditService = auditService;
+        this.draftService = draftService;
+        this.articleBrowseService = articleBrowseService;
+        this.archiveService = archiveService;
     }
 
     @GetMapping
@@ -32,17 +65,81 @@ public class ArticleController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Article> getArticle(@PathVariable UUID id) {
-        return articleService.getArticleById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public void getArticle(@PathVariable UUID id,
+                           HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        Optional<String> articleId = articleService.getArticleIdById(id);
+        if (articleId.isPresent() && writePublished(articleId.get(), request, response)) {
+            return;
+        }
+        writeArticle(articleService.getArticleById(id), request, response);
     }
 
     @GetMapping("/by-article-id/{articleId}")
-    public ResponseEntity<Article> getArticleByArticleId(@PathVariable String articleId) {
-        return articleService.getArticleByArticleId(articleId)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public void getArticleByArticleId(@PathVariable String articleId,
+                                      HttpServletRequest request,
+                                      HttpServletResponse response) throws IOException {
+        if (writePublished(articleId, request, response)) {
+            return;
+        }
+        writeArticle(articleService.getArticleByArticleId(articleId), request, response);
+    }
+
+    /**
+     * 按分类、标签（同时带有所有标签）与发布日期筛选已发布文章，附带分面计数
+     * GET /api/articles/browse?category=&tags=a,b&from=2024-01&to=2024-06-30&page=0&size=10
+     * from / to 为 yyyy-MM 或 yyyy-MM-dd，均包含边界
+     */
+    @GetMapping("/browse")
+    public ResponseEntity<?> browse(@RequestParam(required = false) String category,
+                                    @RequestParam(required = false) List<String> tags,
+                                    @RequestParam(required = false) String from,
+                                    @RequestParam(required = false) String to,
+                                    @RequestParam(defaultValue = "0") int page,
+                                    @RequestParam(defaultValue = "10") int size) {
+        LocalDateTime start;
+        LocalDateTime end;
+        try {
+            start = from == null || from.isBlank() ? null : parseDate(from, false);
+            end = to == null || to.isBlank() ? null : parseDate(to, true);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "日期格式应为 yyyy-MM 或 yyyy-MM-dd"));
+        }
+        List<String> tagIds = tags == null ? List.of() : tags.stream()
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .toList();
+        return ResponseEntity.ok(articleBrowseService.browse(category == null || category.isBlank() ? null : category,
+                tagIds, start, end, Math.max(page, 0), Math.min(Math.max(size, 1), 100)));
+    }
+
+    /**
+     * 归档总览：按年、月分组的文章数与每月最新的几篇标题
+     * GET /api/articles/archive
+     */
+    @GetMapping("/archive")
+    public void getArchive(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CachedBodyWriter.write(request, response, archiveService.getOverview());
+    }
+
+    /**
+     * 某月的文章标题，按发布时间倒序分页；after 为上一页最后一篇的 articleId
+     * GET /api/articles/archive/2024-05?after=&page=0&size=20
+     */
+    @GetMapping("/archive/{month}")
+    public ResponseEntity<?> getArchiveMonth(@PathVariable String month,
+                                             @RequestParam(required = false) String after,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "20") int size) {
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "月份格式应为 yyyy-MM"));
+        }
+        return ResponseEntity.ok(archiveService.getMonth(yearMonth, after == null || after.isBlank() ? null : after,
+                Math.max(page, 0), Math.min(Math.max(size, 1), 100)));
     }
 
     @GetMapping("/by-article-id/{articleId}/related")
@@ -52,10 +149,76 @@ public class ArticleController {
         return articleService.getRelatedArticles(articleId, limit);
     }
 
+    /**
+     * 历史版本列表（不含正文），按版本号倒序
+     * GET /api/articles/{id}/revisions?page=0&size=20
+     */
+    @GetMapping("/{id}/revisions")
+    public ResponseEntity<?> getRevisions(@PathVariable UUID id,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "20") int size) {
+        return articleService.getArticleById(id)
+                .<ResponseEntity<?>>map(article -> ResponseEntity.ok(articleService.getRevisions(
+                        article.getArticleId(), Math.max(page, 0), Math.min(Math.max(size, 1), 100))))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 重建指定版本的正文
+     * GET /api/articles/{id}/revisions/{revision}
+     */
+    @GetMapping("/{id}/revisions/{revision}")
+    public ResponseEntity<?> getRevision(@PathVariable UUID id, @PathVariable int revision) {
+        Optional<Article> article = articleService.getArticleById(id);
+        if (article.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return articleService.getRevisionContent(article.get().getArticleId(), revision)
+                .<ResponseEntity<?>>map(content -> ResponseEntity.ok(Map.of("revision", revision, "content", content)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 编辑器自动保存：合并到内存缓冲区，按间隔写入草稿表；flush=true 时立即写入
+     * PUT /api/articles/{id}/draft?flush=false
+     */
+    @PutMapping("/{id}/draft")
+    public ResponseEntity<?> autosaveDraft(@PathVariable UUID id,
+                                           @RequestBody ArticleDraftDto draft,
+                                           @RequestParam(defaultValue = "false") boolean flush,
+                                           Authentication authentication) {
+        String actorId = authentication != null
+                && authentication.getDetails() instanceof JwtAuthenticationFilter.JwtUserDetails details
+                ? details.getUserId() : null;
+        if (!draftService.autosave(id, draft, actorId, flush)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of("status", flush ? "saved" : "buffered"));
+    }
+
+    @GetMapping("/{id}/draft")
+    public ResponseEntity<ArticleDraftDto> getDraft(@PathVariable UUID id) {
+        return draftService.getDraft(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}/draft")
+    public ResponseEntity<?> discardDraft(@PathVariable UUID id) {
+        Optional<Article> article = articleService.getArticleById(id);
+        if (article.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        draftService.discard(id, article.get().getArticleId());
+        return ResponseEntity.ok(Map.of("message", "Draft discarded"));
+    }
+
     @PostMapping
     public ResponseEntity<?> createArticle(@RequestBody ArticleRequestDto dto) {
         Article article = mapDto(dto);
         Article saved = articleService.saveArticle(article);
+        auditService.record(AuditService.ACTION_CREATE, "article", saved.getArticleId(),
+                Map.of(), auditService.snapshot(saved));
         return ResponseEntity.ok(saved);
     }
 
@@ -65,20 +228,59 @@ public class ArticleController {
         if (existing.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
+        Map<String, Object> before = auditService.snapshot(existing.get());
         Article updates = mapDto(dto);
         Article updated = articleService.updateArticle(existing.get(), updates);
+        // 正式保存后草稿已过时
+        draftService.discard(id, updated.getArticleId());
+        auditService.record(AuditService.ACTION_UPDATE, "article", updated.getArticleId(),
+                before, auditService.snapshot(updated));
         return ResponseEntity.ok(updated);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteArticle(@PathVariable UUID id) {
-        if (articleService.getArticleById(id).isEmpty()) {
+        Optional<Article> existing = articleService.getArticleById(id);
+        if (existing.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
+        Map<String, Object> before = auditService.snapshot(existing.get());
         articleService.deleteArticle(id);
+        draftService.discard(id, existing.get().getArticleId());
+        auditService.record(AuditService.ACTION_DELETE, "article", existing.get().getArticleId(), before, Map.of());
         return ResponseEntity.ok(Map.of("message", "Article deleted"));
     }
 
+    /**
+     * 已发布文章走缓存与合并加载（分类、标签、作者变化时由 ArticleService 失效），写出后返回 true；
+     * 其余情况（草稿、不存在）返回 false，由调用方按原方式查询
+     */
+    private boolean writePublished(String articleId,
+                                   HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        Optional<BodySource> published = articleService.getPublishedArticleBody(articleId);
+        if (published.isEmpty()) {
+            return false;
+        }
+        try (BodySource body = published.get()) {
+            CachedBodyWriter.write(request, response, body);
+        }
+        return true;
+    }
+
+    /**
+     * 未发布的文章详情直接以字节写出，不缓存
+     */
+    private void writeArticle(Optional<Article> article,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        if (article.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        CachedBodyWriter.write(request, response, CachedBody.json(objectMapper, article.get()));
+    }
+
     private Article mapDto(ArticleRequestDto dto) {
         Article article = new Article();
         article.setArticleId(dto.getArticleId());
@@ -94,4 +296,16 @@ public class ArticleController {
         articleService.resolveCategory(dto.getCategoryId()).ifPresent(article::setCategory);
         return article;
     }
+
+    /**
+     * 解析 yyyy-MM 或 yyyy-MM-dd；end 为 true 时返回该月 / 该日结束后的第一刻（不含）
+     */
+    private static LocalDateTime parseDate(String value, boolean end) {
+        if (value.length() == 7) {
+            YearMonth month = YearMonth.parse(value);
+            return (end ? month.plusMonths(1) : month).atDay(1).atStartOfDay();
+        }
+        LocalDate date = LocalDate.parse(value);
+        return (end ? date.plusDays(1) : date).atStartOfDay();
+    }
 }
@@ -0,0 +1,34 @@
+package com.deepveir.blog.controller;
+
+import com.deepveir.blog.entity.AuditLog;
+import com.deepveir.blog.service.AuditService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/audit-logs")
+public class AuditLogController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final AuditService auditService;
+
+    public AuditLogController(AuditService auditService) {
+        this.auditService = auditService;
+    }
+
+    /**
+     * 查询审计日志，按时间倒序
+     * GET /api/audit-logs?entityType=article&entityId=xxx&actorId=xxx&page=0&size=20
+     */
+    @GetMapping
+    public Page<AuditLog> search(@RequestParam(required = false) String entityType,
+                                 @RequestParam(required = false) String entityId,
+                                 @RequestParam(required = false) String actorId,
+                                 @RequestParam(defaultValue = "0") int page,
+                                 @RequestParam(defaultValue = "20") int size) {
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        return auditService.search(entityType, entityId, actorId, pageable);
+    }
+}
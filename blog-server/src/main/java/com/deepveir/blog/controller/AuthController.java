@@ -1,5 +1,6 @@
 package com.deepveir.blog.controller;
 
+import com.deepveir.blog.cache.InvalidationBus;
 import com.deepveir.blog.entity.User;
 import com.deepveir.blog.filter.JwtAuthenticationFilter;
 import com.deepveir.blog.repository.RoleRepository;
@@ -23,13 +24,16 @@ public class AuthController {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final InvalidationBus invalidationBus;
 
     public AuthController(UserRepository userRepository, RoleRepository roleRepository, 
-                          PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+                          PasswordEncoder passwordEncoder, JwtUtil jwtUtil,
+                          InvalidationBus invalidationBus) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.invalidationBus = invalidationBus;
     }
 
     @PostMapping("/register")
@@ -77,11 +81,13 @@ public class AuthController {
                     int newVersion = (user.getTokenVersion() != null ? user.getTokenVersion() : 0) + 1;
                     user.setTokenVersion(newVersion);
                     userRepository.save(user);
+                    invalidationBus.publish(InvalidationBus.REGION_USER, user.getUserId());
                     
                     // 生成 JWT Token（带版本号）
                     String token = jwtUtil.generateToken(
                         user.getUserId(), 
                         user.getEmail(), 
+                        user.getRole() != null ? user.getRole().getRoleId() : null,
                         user.getRoleName(),
                         newVersion
                     );
@@ -135,6 +141,7 @@ public class AuthController {
             userRepository.findByUserId(details.getUserId()).ifPresent(user -> {
                 user.setTokenVersion((user.getTokenVersion() != null ? user.getTokenVersion() : 0) + 1);
                 userRepository.save(user);
+                invalidationBus.publish(InvalidationBus.REGION_USER, user.getUserId());
             });
         }
         return ResponseEntity.ok(Map.of("message", "退出成功"));
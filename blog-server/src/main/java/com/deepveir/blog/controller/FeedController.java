@@ -0,0 +1,47 @@
+package com.deepveir.blog.controller;
+
+import com.deepveir.blog.cache.CachedBodyWriter;
+import com.deepveir.blog.service.FeedService;
+import com.deepveir.blog.service.FeedService.FeedType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+
+/**
+ * RSS / Atom 订阅与站点地图
+ */
+@RestController
+public class FeedController {
+
+    private final FeedService feedService;
+
+    public FeedController(FeedService feedService) {
+        this.feedService = feedService;
+    }
+
+    @GetMapping("/feed.xml")
+    public void rss(HttpServletRequest request, HttpServletResponse response) throws IOException, XMLStreamException {
+        write(FeedType.RSS, request, response);
+    }
+
+    @GetMapping("/atom.xml")
+    public void atom(HttpServletRequest request, HttpServletResponse response) throws IOException, XMLStreamException {
+        write(FeedType.ATOM, request, response);
+    }
+
+    @GetMapping("/sitemap.xml")
+    public void sitemap(HttpServletRequest request, HttpServletResponse response) throws IOException, XMLStreamException {
+        write(FeedType.SITEMAP, request, response);
+    }
+
+    private void write(FeedType type, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, XMLStreamException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=300");
+        CachedBodyWriter.write(request, response, feedService.get(type));
+    }
+}
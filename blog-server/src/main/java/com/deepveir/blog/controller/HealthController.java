@@ -0,0 +1,54 @@
+package com.deepveir.blog.controller;
+
+import com.deepveir.blog.filter.StartupTimingFilter;
+import com.deepveir.blog.service.WarmupService;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 健康检查（供容器编排与负载均衡使用）
+ * live：进程可以处理请求；ready：预热完成且未进入关闭流程，可以接收流量
+ */
+@RestController
+@RequestMapping("/api/health")
+public class HealthController {
+
+    private final WarmupService warmupService;
+    private final ApplicationAvailability availability;
+    private final StartupTimingFilter startupTiming;
+
+    public HealthController(WarmupService warmupService, ApplicationAvailability availability,
+                            StartupTimingFilter startupTiming) {
+        this.warmupService = warmupService;
+        this.availability = availability;
+        this.startupTiming = startupTiming;
+    }
+
+    @GetMapping("/live")
+    public Map<String, String> live() {
+        return Map.of("status", "UP");
+    }
+
+    /**
+     * 预热未完成或应用正在关闭时返回 503
+     */
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, Object>> ready() {
+        Map<String, Object> status = warmupService.getStatus();
+        status.put("startup", startupTiming.getStatus());
+        boolean accepting = availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC;
+        if (!warmupService.isReady() || !accepting) {
+            status.put("status", accepting ? "WARMING_UP" : "REFUSING_TRAFFIC");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(status);
+        }
+        status.put("status", "READY");
+        return ResponseEntity.ok(status);
+    }
+}
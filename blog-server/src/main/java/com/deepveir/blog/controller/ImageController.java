@@ -0,0 +1,70 @@
+package com.deepveir.blog.controller;
+
+import com.deepveir.blog.service.ImageService;
+import com.deepveir.blog.util.FileResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/images")
+public class ImageController {
+
+    private static final String URL_PREFIX = "/api/images/";
+
+    private final ImageService imageService;
+
+    public ImageController(ImageService imageService) {
+        this.imageService = imageService;
+    }
+
+    /**
+     * 上传图片（封面、头像），返回原图与各宽度缩略图的地址
+     * POST /api/images (multipart, 字段名 file)
+     */
+    @PostMapping
+    public ResponseEntity<?> upload(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "文件不能为空"));
+        }
+        ImageService.StoredImage stored;
+        try {
+            stored = imageService.store(file.getBytes());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        Map<Integer, String> variants = new LinkedHashMap<>();
+        stored.variants().forEach((width, name) -> variants.put(width, URL_PREFIX + name));
+        return ResponseEntity.ok(Map.of(
+                "hash", stored.hash(),
+                "url", URL_PREFIX + stored.original(),
+                "variants", variants));
+    }
+
+    /**
+     * 读取图片，支持 Range；Tomcat 支持时以 sendfile 发送
+     * GET /api/images/{hash}.{ext} 或 /api/images/{hash}-{width}.{jpg|webp}
+     */
+    @GetMapping("/{fileName:.+}")
+    public void get(@PathVariable String fileName,
+                    HttpServletRequest request,
+                    HttpServletResponse response) throws IOException {
+        Optional<ImageService.ImageFile> resolved = imageService.resolve(fileName);
+        if (resolved.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        ImageService.ImageFile image = resolved.get();
+        // 缩略图未生成时返回的是原图，ETag 使用请求的文件名加后缀区分，缩略图生成后随之变化
+        String etag = image.immutable() ? "\"" + fileName + "\"" : "\"" + fileName + "-original\"";
+        FileResponses.serve(request, response, image.path(), image.contentType(), etag,
+                image.immutable() ? "public, max-age=31536000, immutable" : "public, max-age=60");
+    }
+}
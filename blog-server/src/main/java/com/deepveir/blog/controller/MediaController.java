@@ -0,0 +1,80 @@
+package com.deepveir.blog.controller;
+
+import com.deepveir.blog.service.MediaService;
+import com.deepveir.blog.util.FileResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping("/api/media")
+public class MediaController {
+
+    private static final String URL_PREFIX = "/api/media/";
+    private static final Pattern FILE_NAME = Pattern.compile("([0-9a-f]{64})\\.([a-z0-9]{1,5})");
+
+    private final MediaService mediaService;
+
+    public MediaController(MediaService mediaService) {
+        this.mediaService = mediaService;
+    }
+
+    /**
+     * 上传媒体文件（正文插图、附件、音视频），相同内容返回同一个地址
+     * POST /api/media (multipart, 字段名 file)
+     */
+    @PostMapping
+    public ResponseEntity<?> upload(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "文件不能为空"));
+        }
+        MediaService.MediaObject stored;
+        try (InputStream in = file.getInputStream()) {
+            stored = mediaService.store(in, file.getContentType());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of(
+                "hash", stored.hash(),
+                "url", URL_PREFIX + stored.fileName(),
+                "size", stored.size(),
+                "contentType", stored.contentType()));
+    }
+
+    /**
+     * 读取媒体文件，内容类型由扩展名决定，不查询数据库；支持 Range（音视频拖动、PDF 分段加载）
+     * GET /api/media/{hash}.{ext}
+     */
+    @GetMapping("/{fileName:.+}")
+    public void get(@PathVariable String fileName,
+                    HttpServletRequest request,
+                    HttpServletResponse response) throws IOException {
+        Matcher m = FILE_NAME.matcher(fileName);
+        String contentType = m.matches() ? contentType(m.group(2)) : null;
+        Path file = contentType != null ? mediaService.path(m.group(1)) : null;
+        if (file == null || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        FileResponses.serve(request, response, file, contentType, "\"" + m.group(1) + "\"",
+                "public, max-age=31536000, immutable");
+    }
+
+    private static String contentType(String extension) {
+        return MediaService.EXTENSIONS.entrySet().stream()
+                .filter(e -> e.getValue().equals(extension))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+    }
+}
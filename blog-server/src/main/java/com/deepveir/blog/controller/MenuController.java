@@ -2,7 +2,9 @@ package com.deepveir.blog.controller;
 
 import com.deepveir.blog.entity.Menu;
 import com.deepveir.blog.entity.User;
+import com.deepveir.blog.service.AuditService;
 import com.deepveir.blog.service.MenuService;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,14 +13,18 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+// 后台菜单管理，与 MenuService 一起延迟创建
+@Lazy
 @RestController
 @RequestMapping("/api/menus")
 public class MenuController {
 
     private final MenuService menuService;
+    private final AuditService auditService;
 
-    public MenuController(MenuService menuService) {
+    public MenuController(MenuService menuService, AuditService auditService) {
         this.menuService = menuService;
+        this.auditService = auditService;
     }
 
     // 查: 获取当前用户的菜单树
@@ -65,22 +71,31 @@ public class MenuController {
         }
 
         Menu saved = menuService.createMenu(menu);
+        auditService.record(AuditService.ACTION_CREATE, "menu", saved.getMenuId(),
+                Map.of(), auditService.snapshot(saved));
         return ResponseEntity.ok(saved);
     }
 
     // 改: 更新菜单
     @PutMapping("/{id}")
     public ResponseEntity<?> updateMenu(@PathVariable UUID id, @RequestBody Menu menuDetails) {
+        Map<String, Object> before = auditService.snapshot(menuService.getMenuById(id).orElse(null));
         return menuService.updateMenu(id, menuDetails)
-                .map(updated -> ResponseEntity.ok(updated))
+                .map(updated -> {
+                    auditService.record(AuditService.ACTION_UPDATE, "menu", updated.getMenuId(),
+                            before, auditService.snapshot(updated));
+                    return ResponseEntity.ok(updated);
+                })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     // 删: 删除菜单（级联删除子菜单）
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteMenu(@PathVariable UUID id) {
+        Map<String, Object> before = auditService.snapshot(menuService.getMenuById(id).orElse(null));
         boolean deleted = menuService.deleteMenuWithChildren(id);
         if (deleted) {
+            auditService.record(AuditService.ACTION_DELETE, "menu", (String) before.get("menuId"), before, Map.of());
             return ResponseEntity.ok(Map.of("message", "菜单删除成功"));
         }
         return ResponseEntity.notFound().build();
@@ -90,6 +105,7 @@ public class MenuController {
     @PutMapping("/sort")
     public ResponseEntity<?> updateSort(@RequestBody List<Map<String, Object>> sortData) {
         menuService.updateSort(sortData);
+        auditService.record(AuditService.ACTION_UPDATE, "menu", "*", Map.of(), Map.of("sort", sortData));
         return ResponseEntity.ok(Map.of("message", "排序更新成功"));
     }
 }
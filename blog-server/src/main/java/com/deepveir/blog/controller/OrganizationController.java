@@ -2,6 +2,8 @@ package com.deepveir.blog.controller;
 
 import com.deepveir.blog.entity.Organization;
 import com.deepveir.blog.repository.OrganizationRepository;
+import com.deepveir.blog.service.AuditService;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -10,14 +12,18 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+// 组织管理只在后台使用，延迟到首次请求时创建
+@Lazy
 @RestController
 @RequestMapping("/api/organizations")
 public class OrganizationController {
 
     private final OrganizationRepository organizationRepository;
+    private final AuditService auditService;
 
-    public OrganizationController(OrganizationRepository organizationRepository) {
+    public OrganizationController(OrganizationRepository organizationRepository, AuditService auditService) {
         this.organizationRepository = organizationRepository;
+        this.auditService = auditService;
     }
 
     // 列表: 获取所有组织
@@ -44,6 +50,8 @@ public class OrganizationController {
             org.setOrgId(generateOrgId(org.getName()));
         }
         Organization saved = organizationRepository.save(org);
+        auditService.record(AuditService.ACTION_CREATE, "organization", saved.getOrgId(),
+                Map.of(), auditService.snapshot(saved));
         return ResponseEntity.ok(saved);
     }
 
@@ -55,10 +63,13 @@ public class OrganizationController {
             return ResponseEntity.notFound().build();
         }
         Organization org = optional.get();
+        Map<String, Object> before = auditService.snapshot(org);
         if (details.getName() != null) org.setName(details.getName());
         if (details.getDescription() != null) org.setDescription(details.getDescription());
         if (details.getParentOrgId() != null) org.setParentOrgId(details.getParentOrgId());
         Organization saved = organizationRepository.save(org);
+        auditService.record(AuditService.ACTION_UPDATE, "organization", saved.getOrgId(),
+                before, auditService.snapshot(saved));
         return ResponseEntity.ok(saved);
     }
 
@@ -69,7 +80,9 @@ public class OrganizationController {
         if (optional.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
+        Map<String, Object> before = auditService.snapshot(optional.get());
         organizationRepository.delete(optional.get());
+        auditService.record(AuditService.ACTION_DELETE, "organization", optional.get().getOrgId(), before, Map.of());
         return ResponseEntity.ok(Map.of("message", "Organization deleted successfully"));
     }
 
@@ -1,12 +1,27 @@
 package com.deepveir.blog.controller;
 
+import com.deepveir.blog.cache.CachedBody;
+import com.deepveir.blog.cache.CachedBodyWriter;
+import com.deepveir.blog.cache.InvalidationBus;
+import com.deepveir.blog.cache.ResponseBodyCache;
+import com.deepveir.blog.dto.PageViewDto;
 import com.deepveir.blog.entity.Page;
+import com.deepveir.blog.event.PageChangedEvent;
 import com.deepveir.blog.repository.PageRepository;
+import com.deepveir.blog.service.MediaService;
+import com.deepveir.blog.util.MediaReferences;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -15,9 +30,33 @@ import java.util.UUID;
 public class PageController {
 
     private final PageRepository pageRepository;
+    private final ResponseBodyCache responseBodyCache;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvalidationBus invalidationBus;
+    private final MediaService mediaService;
+    // 每次失效时递增；失效前开始读取的页面不放入缓存，避免并发请求把旧内容写回
+    private final Object pageLock = new Object();
+    private long pageGeneration;
 
-    public PageController(PageRepository pageRepository) {
+    public PageController(PageRepository pageRepository,
+                          ResponseBodyCache responseBodyCache,
+                          ObjectMapper objectMapper,
+                          ApplicationEventPublisher eventPublisher,
+                          InvalidationBus invalidationBus,
+                          MediaService mediaService) {
         this.pageRepository = pageRepository;
+        this.responseBodyCache = responseBodyCache;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.invalidationBus = invalidationBus;
+        this.mediaService = mediaService;
+        // 其他实例修改页面后清除本实例的缓存
+        invalidationBus.subscribe(InvalidationBus.REGION_PAGE, (pageId, remote) -> {
+            if (remote) {
+                invalidatePage(pageId);
+            }
+        });
     }
 
     /**
@@ -39,6 +78,39 @@ public class PageController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * 根据 pageId 获取单语言页面（前端展示用）
+     * 序列化并压缩后的字节按 (pageId, locale) 缓存，由写接口失效；
+     * 读取期间发生失效时本次结果只返回不缓存（与文章详情的处理方式相同）
+     */
+    @GetMapping("/{pageId}/{locale:zh|en}")
+    public void getLocalizedPage(@PathVariable String pageId,
+                                 @PathVariable String locale,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        String key = cacheKey(pageId) + locale;
+        CachedBody body = responseBodyCache.get(key);
+        if (body == null) {
+            long generation;
+            synchronized (pageLock) {
+                generation = pageGeneration;
+            }
+            Optional<Page> page = pageRepository.findByPageId(pageId)
+                    .filter(p -> p.getStatus() == 1);
+            if (page.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            body = CachedBody.json(objectMapper, PageViewDto.of(page.get(), locale));
+            synchronized (pageLock) {
+                if (pageGeneration == generation) {
+                    responseBodyCache.put(key, body);
+                }
+            }
+        }
+        CachedBodyWriter.write(request, response, body);
+    }
+
     /**
      * 根据 UUID 获取页面（后台编辑用）
      */
@@ -61,6 +133,8 @@ public class PageController {
             return ResponseEntity.badRequest().body(Map.of("error", "该页面标识已存在"));
         }
         Page saved = pageRepository.save(page);
+        mediaService.updateReferences(Set.of(), mediaHashes(saved));
+        pageChanged(saved.getPageId());
         return ResponseEntity.ok(saved);
     }
 
@@ -71,6 +145,7 @@ public class PageController {
     public ResponseEntity<?> updatePage(@PathVariable UUID id, @RequestBody Page pageDetails) {
         return pageRepository.findById(id)
                 .map(page -> {
+                    Set<String> mediaBefore = mediaHashes(page);
                     if (pageDetails.getTitle() != null) page.setTitle(pageDetails.getTitle());
                     if (pageDetails.getTitleEn() != null) page.setTitleEn(pageDetails.getTitleEn());
                     if (pageDetails.getSubtitle() != null) page.setSubtitle(pageDetails.getSubtitle());
@@ -81,7 +156,10 @@ public class PageController {
                     if (pageDetails.getGithub() != null) page.setGithub(pageDetails.getGithub());
                     if (pageDetails.getWebsite() != null) page.setWebsite(pageDetails.getWebsite());
                     if (pageDetails.getStatus() != null) page.setStatus(pageDetails.getStatus());
-                    return ResponseEntity.ok(pageRepository.save(page));
+                    Page saved = pageRepository.save(page);
+                    mediaService.updateReferences(mediaBefore, mediaHashes(saved));
+                    pageChanged(saved.getPageId());
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -94,8 +172,31 @@ public class PageController {
         return pageRepository.findById(id)
                 .map(page -> {
                     pageRepository.delete(page);
+                    mediaService.updateReferences(mediaHashes(page), Set.of());
+                    pageChanged(page.getPageId());
                     return ResponseEntity.ok(Map.of("message", "删除成功"));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    private void pageChanged(String pageId) {
+        invalidatePage(pageId);
+        eventPublisher.publishEvent(new PageChangedEvent(pageId));
+        invalidationBus.publish(InvalidationBus.REGION_PAGE, pageId);
+    }
+
+    private void invalidatePage(String pageId) {
+        synchronized (pageLock) {
+            pageGeneration++;
+            responseBodyCache.invalidatePrefix(cacheKey(pageId));
+        }
+    }
+
+    private static Set<String> mediaHashes(Page page) {
+        return MediaReferences.extract(page.getContent(), page.getContentEn());
+    }
+
+    private static String cacheKey(String pageId) {
+        return "page:" + pageId + ":";
+    }
 }
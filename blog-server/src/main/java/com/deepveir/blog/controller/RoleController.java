@@ -4,6 +4,8 @@ import com.deepveir.blog.entity.Role;
 import com.deepveir.blog.entity.Menu;
 import com.deepveir.blog.repository.RoleRepository;
 import com.deepveir.blog.repository.MenuRepository;
+import com.deepveir.blog.service.AuditService;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,16 +15,20 @@ import java.util.Set;
 import java.util.HashSet;
 import java.util.UUID;
 
+// 角色管理只在后台使用，延迟到首次请求时创建
+@Lazy
 @RestController
 @RequestMapping("/api/roles")
 public class RoleController {
 
     private final RoleRepository roleRepository;
     private final MenuRepository menuRepository;
+    private final AuditService auditService;
 
-    public RoleController(RoleRepository roleRepository, MenuRepository menuRepository) {
+    public RoleController(RoleRepository roleRepository, MenuRepository menuRepository, AuditService auditService) {
         this.roleRepository = roleRepository;
         this.menuRepository = menuRepository;
+        this.auditService = auditService;
     }
 
     // List all roles
@@ -47,6 +53,8 @@ public class RoleController {
             role.setRoleId(baseId);
         }
         Role savedRole = roleRepository.save(role);
+        auditService.record(AuditService.ACTION_CREATE, "role", savedRole.getRoleId(),
+                Map.of(), auditService.snapshot(savedRole));
         return ResponseEntity.ok(savedRole);
     }
 
@@ -54,9 +62,12 @@ public class RoleController {
     @PutMapping("/{id}")
     public ResponseEntity<?> updateRole(@PathVariable UUID id, @RequestBody Role roleDetails) {
         return roleRepository.findById(id).map(role -> {
+            Map<String, Object> before = auditService.snapshot(role);
             if (roleDetails.getName() != null) role.setName(roleDetails.getName());
             if (roleDetails.getDescription() != null) role.setDescription(roleDetails.getDescription());
             roleRepository.save(role);
+            auditService.record(AuditService.ACTION_UPDATE, "role", role.getRoleId(),
+                    before, auditService.snapshot(role));
             return ResponseEntity.ok(role);
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -65,7 +76,9 @@ public class RoleController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteRole(@PathVariable UUID id) {
         return roleRepository.findById(id).map(role -> {
+            Map<String, Object> before = auditService.snapshot(role);
             roleRepository.delete(role);
+            auditService.record(AuditService.ACTION_DELETE, "role", role.getRoleId(), before, Map.of());
             return ResponseEntity.ok(Map.of("message", "Role deleted successfully"));
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -89,11 +102,14 @@ public class RoleController {
     public ResponseEntity<?> updateRoleMenus(@PathVariable UUID id, @RequestBody List<String> menuIds) {
         return roleRepository.findById(id)
                 .map(role -> {
+                    Map<String, Object> before = auditService.snapshot(role);
                     List<Menu> menus = menuIds == null || menuIds.isEmpty()
                             ? List.of()
                             : menuRepository.findByMenuIdIn(menuIds);
                     role.setMenus(new HashSet<>(menus));
                     roleRepository.save(role);
+                    auditService.record(AuditService.ACTION_UPDATE, "role", role.getRoleId(),
+                            before, auditService.snapshot(role));
                     return ResponseEntity.ok(Map.of("message", "Role menus updated successfully"));
                 })
                 .orElse(ResponseEntity.notFound().build());
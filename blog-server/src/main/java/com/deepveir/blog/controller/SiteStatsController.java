@@ -1,9 +1,15 @@
 package com.deepveir.blog.controller;
 
+import com.deepveir.blog.cache.OffHeapBodyStore;
+import com.deepveir.blog.cache.ResponseBodyCache;
 import com.deepveir.blog.entity.SiteStats;
+import com.deepveir.blog.filter.ClientIpResolver;
 import com.deepveir.blog.service.SiteStatsService;
+import com.deepveir.blog.stats.VisitGuard;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,15 +24,35 @@ public class SiteStatsController {
     @Autowired
     private SiteStatsService siteStatsService;
 
+    @Autowired
+    private ClientIpResolver clientIpResolver;
+
+    @Autowired
+    private VisitGuard visitGuard;
+
+    @Autowired
+    private ResponseBodyCache responseBodyCache;
+
+    @Autowired
+    private OffHeapBodyStore offHeapBodyStore;
+
     /**
      * 记录页面访问（前端调用）
      * POST /api/stats/visit
+     * 爬虫的访问直接忽略；同一 IP 超过频率限制时返回 429，都不计入统计
      */
     @PostMapping("/visit")
     public ResponseEntity<Map<String, String>> recordVisit(HttpServletRequest request) {
-        String visitorIp = getClientIp(request);
-        siteStatsService.recordVisit(visitorIp);
-        return ResponseEntity.ok(Map.of("status", "ok"));
+        String visitorIp = clientIpResolver.resolve(request);
+        switch (visitGuard.check(visitorIp, request.getHeader(HttpHeaders.USER_AGENT))) {
+            case BOT:
+                return ResponseEntity.ok(Map.of("status", "ignored"));
+            case RATE_LIMITED:
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of("status", "rate_limited"));
+            default:
+                siteStatsService.recordVisit(visitorIp);
+                return ResponseEntity.ok(Map.of("status", "ok"));
+        }
     }
 
     /**
@@ -35,7 +61,22 @@ public class SiteStatsController {
      */
     @GetMapping("/overview")
     public ResponseEntity<Map<String, Object>> getOverview() {
-        return ResponseEntity.ok(siteStatsService.getStatsOverview());
+        Map<String, Object> overview = siteStatsService.getStatsOverview();
+        overview.put("droppedBots", visitGuard.getBotsDropped());
+        overview.put("rateLimited", visitGuard.getRateLimited());
+        return ResponseEntity.ok(overview);
+    }
+
+    /**
+     * 响应缓存的容量与命中统计（仅超级管理员），用于调整 blog.cache.* 的容量
+     * GET /api/stats/caches
+     */
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(Map.of(
+                "responseCache", responseBodyCache.getStats(),
+                "offHeapCache", offHeapBodyStore.getStats()
+        ));
     }
 
     /**
@@ -47,22 +88,4 @@ public class SiteStatsController {
             @RequestParam(defaultValue = "7") int days) {
         return ResponseEntity.ok(siteStatsService.getRecentStats(days));
     }
-
-    /**
-     * 获取客户端真实 IP
-     */
-    private String getClientIp(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("X-Real-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        // 如果有多个 IP（代理链），取第一个
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
-        }
-        return ip;
-    }
 }
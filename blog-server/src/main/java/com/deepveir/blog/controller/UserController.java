@@ -3,6 +3,7 @@ package com.deepveir.blog.controller;
 import com.deepveir.blog.dto.UserRequestDto;
 import com.deepveir.blog.entity.Role;
 import com.deepveir.blog.entity.User;
+import com.deepveir.blog.service.AuditService;
 import com.deepveir.blog.service.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,9 +17,11 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final AuditService auditService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, AuditService auditService) {
         this.userService = userService;
+        this.auditService = auditService;
     }
 
     // 查: 获取所有用户
@@ -65,6 +68,10 @@ public class UserController {
         if (result instanceof Map && ((Map<?, ?>) result).containsKey("error")) {
             return ResponseEntity.badRequest().body(result);
         }
+        if (result instanceof User saved) {
+            auditService.record(AuditService.ACTION_CREATE, "user", saved.getUserId(),
+                    Map.of(), auditService.snapshot(saved));
+        }
         return ResponseEntity.ok(result);
     }
 
@@ -111,16 +118,23 @@ public class UserController {
             userDetails.setOrganizationEntity(org);
         }
 
+        Map<String, Object> before = auditService.snapshot(userService.getUserById(id).orElse(null));
         return userService.updateUser(id, userDetails)
-                .map(ResponseEntity::ok)
+                .map(updated -> {
+                    auditService.record(AuditService.ACTION_UPDATE, "user", updated.getUserId(),
+                            before, auditService.snapshot(updated));
+                    return ResponseEntity.ok(updated);
+                })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     // 删: 删除用户
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable UUID id) {
+        Map<String, Object> before = auditService.snapshot(userService.getUserById(id).orElse(null));
         boolean deleted = userService.deleteUser(id);
         if (deleted) {
+            auditService.record(AuditService.ACTION_DELETE, "user", (String) before.get("userId"), before, Map.of());
             return ResponseEntity.ok(Map.of("message", "User deleted successfully"));
         }
         return ResponseEntity.notFound().build();
@@ -0,0 +1,19 @@
+package com.deepveir.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 归档中的一篇文章，只含标题与发布时间
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveEntryDto {
+    private String articleId;
+    private String title;
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,21 @@
+package com.deepveir.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 归档中的一个月：month 为 yyyy-MM，count 为该月已发布文章总数，
+ * articles 为按发布时间倒序的一页（总览中为前几篇）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveMonthDto {
+    private String month;
+    private int count;
+    private List<ArchiveEntryDto> articles;
+    private boolean hasMore;
+}
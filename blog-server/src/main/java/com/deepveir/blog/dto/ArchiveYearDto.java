@@ -0,0 +1,19 @@
+package com.deepveir.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 归档中的一年，months 按月份倒序
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveYearDto {
+    private int year;
+    private int count;
+    private List<ArchiveMonthDto> months;
+}
@@ -0,0 +1,22 @@
+package com.deepveir.blog.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章筛选结果：当前页摘要与各维度的分面计数
+ * 分面计数为当前筛选结果中属于该分类 / 标签 / 月份的文章数，只包含非零项
+ */
+@Data
+public class ArticleBrowseResultDto {
+    private long total;
+    private int page;
+    private int size;
+    private List<ArticleSummaryDto> articles;
+    private Map<String, Integer> categories;
+    private Map<String, Integer> tags;
+    // 键为 yyyy-MM，按月份倒序
+    private Map<String, Integer> months;
+}
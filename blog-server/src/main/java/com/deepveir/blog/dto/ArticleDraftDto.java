@@ -0,0 +1,19 @@
+package com.deepveir.blog.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 编辑器自动保存的草稿，只包含正文相关字段；字段为 null 时保留之前的值
+ * version 由编辑器单调递增（如客户端时间戳），写库时较旧的版本不会覆盖较新的版本
+ */
+@Data
+public class ArticleDraftDto {
+    private String title;
+    private String summary;
+    private String content;
+    private String coverImage;
+    private Long version;
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,22 @@
+package com.deepveir.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章历史版本的元信息（不含正文），kind 为 full（全文快照）或 delta（相对上一版本的差异）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleRevisionDto {
+    private int revision;
+    private String title;
+    private String kind;
+    private int contentLength;
+    private String actorId;
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,39 @@
+package com.deepveir.blog.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文章摘要投影（不含正文），用于列表、快照等只需元数据的场景
+ */
+@Data
+@NoArgsConstructor
+public class ArticleSummaryDto {
+    private String articleId;
+    private String title;
+    private String summary;
+    private String coverImage;
+    private String readTime;
+    private LocalDateTime publishedAt;
+    private LocalDateTime updateTime;
+    private String categoryId;
+    private List<String> tagIds = new ArrayList<>();
+
+    // JPQL 构造器表达式使用
+    public ArticleSummaryDto(String articleId, String title, String summary, String coverImage,
+                             String readTime, LocalDateTime publishedAt, LocalDateTime updateTime,
+                             String categoryId) {
+        this.articleId = articleId;
+        this.title = title;
+        this.summary = summary;
+        this.coverImage = coverImage;
+        this.readTime = readTime;
+        this.publishedAt = publishedAt;
+        this.updateTime = updateTime;
+        this.categoryId = categoryId;
+    }
+}
@@ -0,0 +1,23 @@
+package com.deepveir.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * RSS / Atom 条目投影，excerpt 为摘要或正文前若干字符，不加载完整正文
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedEntryDto {
+    private String articleId;
+    private String title;
+    private String excerpt;
+    private LocalDateTime publishedAt;
+    private LocalDateTime updateTime;
+    private String authorName;
+    private String categoryName;
+}
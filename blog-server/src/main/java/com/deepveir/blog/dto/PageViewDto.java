@@ -0,0 +1,44 @@
+package com.deepveir.blog.dto;
+
+import com.deepveir.blog.entity.Page;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 单语言页面视图（前端展示用），只包含当前语言的标题与正文
+ */
+@Data
+public class PageViewDto {
+    private String pageId;
+    private String locale;
+    private String title;
+    private String subtitle;
+    private String content;
+    private String email;
+    private String github;
+    private String website;
+    private LocalDateTime updateTime;
+
+    /**
+     * 英文字段为空时回退到中文内容
+     */
+    public static PageViewDto of(Page page, String locale) {
+        boolean en = "en".equals(locale);
+        PageViewDto dto = new PageViewDto();
+        dto.setPageId(page.getPageId());
+        dto.setLocale(locale);
+        dto.setTitle(en ? fallback(page.getTitleEn(), page.getTitle()) : page.getTitle());
+        dto.setSubtitle(en ? fallback(page.getSubtitleEn(), page.getSubtitle()) : page.getSubtitle());
+        dto.setContent(en ? fallback(page.getContentEn(), page.getContent()) : page.getContent());
+        dto.setEmail(page.getEmail());
+        dto.setGithub(page.getGithub());
+        dto.setWebsite(page.getWebsite());
+        dto.setUpdateTime(page.getUpdateTime());
+        return dto;
+    }
+
+    private static String fallback(String value, String defaultValue) {
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+}
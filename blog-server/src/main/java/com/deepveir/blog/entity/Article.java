@@ -18,6 +18,11 @@ import java.util.UUID;
 @Table(name = "articles")
 public class Article {
 
+    public static final String STATUS_DRAFT = "draft";
+    public static final String STATUS_PUBLISHED = "published";
+    // 已设置未来的 publishedAt，到点后由 ScheduledPublishService 自动发布
+    public static final String STATUS_SCHEDULED = "scheduled";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @EqualsAndHashCode.Include
@@ -38,7 +43,7 @@ public class Article {
     private String coverImage;
 
     @Column(length = 20)
-    private String status = "draft";
+    private String status = STATUS_DRAFT;
 
     @Column(name = "read_time")
     private String readTime;
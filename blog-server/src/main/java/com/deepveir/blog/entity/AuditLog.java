@@ -0,0 +1,42 @@
+package com.deepveir.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 后台变更审计记录，由 AuditService 异步批量写入，只读
+ */
+@Data
+@Entity
+@Table(name = "audit_logs")
+public class AuditLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "actor_id")
+    private String actorId;
+
+    @Column(name = "actor_email")
+    private String actorEmail;
+
+    // create / update / delete 等
+    @Column(nullable = false, length = 20)
+    private String action;
+
+    @Column(name = "entity_type", nullable = false, length = 50)
+    private String entityType;
+
+    @Column(name = "entity_id")
+    private String entityId;
+
+    // 变更字段 JSON：{"字段": [旧值, 新值]}
+    @Column(columnDefinition = "text")
+    private String changes;
+
+    @Column(name = "create_time", nullable = false)
+    private LocalDateTime createTime;
+}
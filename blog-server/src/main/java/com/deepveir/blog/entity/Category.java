@@ -1,5 +1,6 @@
 package com.deepveir.blog.entity;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
@@ -28,6 +29,11 @@ public class Category {
     @Column(name = "sort_order")
     private Integer sortOrder = 0;
 
+    // 已发布文章数，由 TaxonomyCountService 填充，不对应数据库列
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer articleCount;
+
     @CreationTimestamp
     @Column(name = "create_time", updatable = false)
     private LocalDateTime createTime;
@@ -15,6 +15,9 @@ import java.util.UUID;
 @Table(name = "roles")
 public class Role {
 
+    // 超级管理员的 role_id（见初始化数据）
+    public static final String ADMIN_ROLE_ID = "admin";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
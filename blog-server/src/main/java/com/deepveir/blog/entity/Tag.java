@@ -1,6 +1,7 @@
 package com.deepveir.blog.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -33,6 +34,11 @@ public class Tag {
     @ManyToMany(mappedBy = "tags", fetch = FetchType.LAZY)
     private Set<Article> articles = new HashSet<>();
 
+    // 已发布文章数，由 TaxonomyCountService 填充，不对应数据库列
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer articleCount;
+
     @CreationTimestamp
     @Column(name = "create_time", updatable = false)
     private LocalDateTime createTime;
@@ -0,0 +1,53 @@
+package com.deepveir.blog.event;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 文章变更事件，由 ArticleService 在写操作后发布
+ * before 为空表示新建，after 为空表示删除
+ */
+public class ArticleChangedEvent {
+
+    private final ArticleSnapshot before;
+    private final ArticleSnapshot after;
+
+    public ArticleChangedEvent(ArticleSnapshot before, ArticleSnapshot after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    public ArticleSnapshot getBefore() { return before; }
+    public ArticleSnapshot getAfter() { return after; }
+
+    public String getArticleId() {
+        return after != null ? after.articleId() : before.articleId();
+    }
+
+    /**
+     * 变更前或变更后处于已发布状态，即对公开内容可见
+     */
+    public boolean isPublicChange() {
+        return (before != null && before.isPublished()) || (after != null && after.isPublished());
+    }
+
+    /**
+     * 变更前后涉及的分类
+     */
+    public Set<String> getAffectedCategoryIds() {
+        Set<String> ids = new HashSet<>();
+        if (before != null && before.categoryId() != null) ids.add(before.categoryId());
+        if (after != null && after.categoryId() != null) ids.add(after.categoryId());
+        return ids;
+    }
+
+    /**
+     * 变更前后涉及的标签
+     */
+    public Set<String> getAffectedTagIds() {
+        Set<String> ids = new HashSet<>();
+        if (before != null) ids.addAll(before.tagIds());
+        if (after != null) ids.addAll(after.tagIds());
+        return ids;
+    }
+}
@@ -0,0 +1,40 @@
+package com.deepveir.blog.event;
+
+import com.deepveir.blog.entity.Article;
+import com.deepveir.blog.entity.Tag;
+import com.deepveir.blog.util.MediaReferences;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 文章在某一时刻的轻量快照（不含正文），用于描述变更前后的状态
+ * mediaHashes 为封面与正文中引用的本地媒体文件
+ */
+public record ArticleSnapshot(String articleId,
+                              String title,
+                              String status,
+                              LocalDateTime publishedAt,
+                              LocalDateTime updateTime,
+                              String categoryId,
+                              Set<String> tagIds,
+                              Set<String> mediaHashes) {
+
+    public static ArticleSnapshot of(Article article) {
+        return new ArticleSnapshot(
+                article.getArticleId(),
+                article.getTitle(),
+                article.getStatus(),
+                article.getPublishedAt(),
+                article.getUpdateTime(),
+                article.getCategory() != null ? article.getCategory().getCategoryId() : null,
+                article.getTags().stream().map(Tag::getTagId).collect(Collectors.toUnmodifiableSet()),
+                Set.copyOf(MediaReferences.extract(article.getCoverImage(), article.getContent()))
+        );
+    }
+
+    public boolean isPublished() {
+        return Article.STATUS_PUBLISHED.equals(status);
+    }
+}
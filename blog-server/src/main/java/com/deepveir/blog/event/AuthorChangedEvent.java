@@ -0,0 +1,10 @@
+package com.deepveir.blog.event;
+
+import java.util.Set;
+
+/**
+ * 作者嵌入在文章响应中的展示信息（用户名、头像等）变化，或用户被删除后发布
+ * articleIds 为该作者已发布的文章，在变更前查出：删除用户后文章的作者被置空，无法再按作者查询
+ */
+public record AuthorChangedEvent(String userId, Set<String> articleIds) {
+}
@@ -0,0 +1,7 @@
+package com.deepveir.blog.event;
+
+/**
+ * 媒体文件因不再被引用而被回收后发布
+ */
+public record MediaDeletedEvent(String hash) {
+}
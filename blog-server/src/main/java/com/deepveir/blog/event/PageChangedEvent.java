@@ -0,0 +1,7 @@
+package com.deepveir.blog.event;
+
+/**
+ * 页面新建、更新或删除后发布
+ */
+public record PageChangedEvent(String pageId) {
+}
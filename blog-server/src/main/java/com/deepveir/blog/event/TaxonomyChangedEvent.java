@@ -0,0 +1,9 @@
+package com.deepveir.blog.event;
+
+/**
+ * 分类或标签新建、更新、删除后发布
+ */
+public record TaxonomyChangedEvent(Kind kind, String id) {
+
+    public enum Kind { CATEGORY, TAG }
+}
@@ -0,0 +1,219 @@
+package com.deepveir.blog.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 解析客户端真实 IP
+ * 只有直接连接方是受信任的代理（nginx 等）时才读取 X-Forwarded-For：从右向左跳过受信任的代理，
+ * 第一个不受信任的地址即为客户端。客户端自己伪造的 X-Forwarded-For 位于最左侧，不会被采用。
+ */
+@Component
+public class ClientIpResolver {
+
+    private final List<Cidr> trustedProxies = new ArrayList<>();
+
+    public ClientIpResolver(@Value("${blog.trusted-proxies:127.0.0.0/8,::1/128,10.0.0.0/8,172.16.0.0/12,192.168.0.0/16}")
+                            List<String> trustedProxies) {
+        for (String entry : trustedProxies) {
+            if (!entry.isBlank()) {
+                this.trustedProxies.add(Cidr.parse(entry.trim()));
+            }
+        }
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String client = request.getRemoteAddr();
+        if (!isTrusted(client)) {
+            return client;
+        }
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor == null || forwardedFor.isBlank()) {
+            String realIp = request.getHeader("X-Real-IP");
+            return realIp != null && parse(realIp.trim()) != null ? realIp.trim() : client;
+        }
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (parse(hop) == null) {
+                // 无法解析的地址之前的内容都不可信
+                break;
+            }
+            client = hop;
+            if (!isTrusted(hop)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrusted(String address) {
+        byte[] bytes = parse(address);
+        if (bytes == null) {
+            return false;
+        }
+        for (Cidr cidr : trustedProxies) {
+            if (cidr.contains(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 只解析 IP 字面量，不做 DNS 查询；不是合法地址时返回 null
+     * 手工解析而不交给 InetAddress，格式不合法的输入（如 999.1.1.1）不会落到系统解析器上。
+     * IPv4 映射的 IPv6 地址（::ffff:a.b.c.d）按 IPv4 处理，与 InetAddress 的行为一致。
+     */
+    private static byte[] parse(String address) {
+        if (address == null || address.isEmpty()) {
+            return null;
+        }
+        if (address.indexOf(':') < 0) {
+            return parseIpv4(address);
+        }
+        byte[] bytes = parseIpv6(address);
+        if (bytes != null && isIpv4Mapped(bytes)) {
+            return Arrays.copyOfRange(bytes, 12, 16);
+        }
+        return bytes;
+    }
+
+    private static byte[] parseIpv4(String address) {
+        byte[] bytes = new byte[4];
+        int octet = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i <= address.length(); i++) {
+            char c = i < address.length() ? address.charAt(i) : '.';
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (++digits > 3 || value > 255) {
+                    return null;
+                }
+            } else if (c == '.' && digits > 0 && octet < 4) {
+                bytes[octet++] = (byte) value;
+                value = 0;
+                digits = 0;
+            } else {
+                return null;
+            }
+        }
+        return octet == 4 ? bytes : null;
+    }
+
+    /**
+     * 8 组十六进制，允许一处 :: 省略连续的 0，最后两组可以写成点分 IPv4；不接受 %zone
+     */
+    private static byte[] parseIpv6(String address) {
+        int gap = address.indexOf("::");
+        if (gap >= 0 && address.indexOf("::", gap + 1) >= 0) {
+            return null;
+        }
+        byte[] head = new byte[16];
+        byte[] tail = new byte[16];
+        int headLength;
+        int tailLength = 0;
+        if (gap < 0) {
+            headLength = parseGroups(address, head);
+            if (headLength != 16) {
+                return null;
+            }
+        } else {
+            headLength = gap == 0 ? 0 : parseGroups(address.substring(0, gap), head);
+            String rest = address.substring(gap + 2);
+            tailLength = rest.isEmpty() ? 0 : parseGroups(rest, tail);
+            // 前半部分不能以点分 IPv4 结尾，:: 至少省略一组
+            if (headLength < 0 || tailLength < 0 || headLength + tailLength > 14
+                    || address.substring(0, gap).indexOf('.') >= 0) {
+                return null;
+            }
+        }
+        byte[] bytes = new byte[16];
+        System.arraycopy(head, 0, bytes, 0, headLength);
+        System.arraycopy(tail, 0, bytes, 16 - tailLength, tailLength);
+        return bytes;
+    }
+
+    /**
+     * 解析以 : 分隔的若干组，写入 out 并返回字节数；格式不合法时返回 -1
+     */
+    private static int parseGroups(String groups, byte[] out) {
+        String[] parts = groups.split(":", -1);
+        int length = 0;
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if (i == parts.length - 1 && part.indexOf('.') >= 0) {
+                byte[] ipv4 = parseIpv4(part);
+                if (ipv4 == null || length + 4 > out.length) {
+                    return -1;
+                }
+                System.arraycopy(ipv4, 0, out, length, 4);
+                return length + 4;
+            }
+            if (part.isEmpty() || part.length() > 4 || length + 2 > out.length) {
+                return -1;
+            }
+            int value = 0;
+            for (int j = 0; j < part.length(); j++) {
+                int digit = Character.digit(part.charAt(j), 16);
+                if (digit < 0) {
+                    return -1;
+                }
+                value = (value << 4) | digit;
+            }
+            out[length++] = (byte) (value >>> 8);
+            out[length++] = (byte) value;
+        }
+        return length;
+    }
+
+    private static boolean isIpv4Mapped(byte[] bytes) {
+        for (int i = 0; i < 10; i++) {
+            if (bytes[i] != 0) {
+                return false;
+            }
+        }
+        return bytes[10] == (byte) 0xff && bytes[11] == (byte) 0xff;
+    }
+
+    private record Cidr(byte[] network, int prefix) {
+
+        static Cidr parse(String value) {
+            int slash = value.indexOf('/');
+            String address = slash >= 0 ? value.substring(0, slash) : value;
+            byte[] network = ClientIpResolver.parse(address);
+            if (network == null) {
+                throw new IllegalArgumentException("Invalid trusted proxy address: " + value);
+            }
+            int prefix = slash >= 0 ? Integer.parseInt(value.substring(slash + 1)) : network.length * 8;
+            if (prefix < 0 || prefix > network.length * 8) {
+                throw new IllegalArgumentException("Invalid trusted proxy prefix: " + value);
+            }
+            return new Cidr(network, prefix);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int full = prefix / 8;
+            for (int i = 0; i < full; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int rest = prefix % 8;
+            if (rest == 0) {
+                return true;
+            }
+            int mask = 0xff << (8 - rest);
+            return (address[full] & mask) == (network[full] & mask);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.deepveir.blog.filter;
 
+import com.deepveir.blog.cache.InvalidationBus;
 import com.deepveir.blog.repository.UserRepository;
 import com.deepveir.blog.util.JwtUtil;
 import jakarta.servlet.FilterChain;
@@ -7,6 +8,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,16 +17,34 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
+    private final long tokenCacheTtlMs;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+    // 用户 Token 版本号与启用状态的本地缓存，避免每个请求都查询数据库；
+    // 登录、退出、禁用、删除用户时通过失效总线在所有实例上清除
+    private static final int TOKEN_CACHE_MAX_SIZE = 10_000;
+    private final Map<String, TokenState> tokenStates = new ConcurrentHashMap<>();
+    // 每次失效递增，防止失效之前读出的旧状态在失效之后写入缓存
+    private final AtomicLong generation = new AtomicLong();
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository,
+                                   InvalidationBus invalidationBus,
+                                   @Value("${blog.auth.token-cache-ttl-ms:30000}") long tokenCacheTtlMs) {
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
+        this.tokenCacheTtlMs = tokenCacheTtlMs;
+        invalidationBus.subscribe(InvalidationBus.REGION_USER, (userId, remote) -> {
+            generation.incrementAndGet();
+            tokenStates.remove(userId);
+        });
     }
 
     @Override
@@ -36,13 +56,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (token != null && jwtUtil.validateToken(token)) {
             String email = jwtUtil.getEmail(token);
             String userId = jwtUtil.getUserId(token);
+            String roleId = jwtUtil.getRoleId(token);
             String roleName = jwtUtil.getRoleName(token);
             Integer tokenVersion = jwtUtil.getTokenVersion(token);
             
             // 验证 Token 版本号（单点登录检查）和用户状态
-            boolean isValid = userRepository.findByUserId(userId)
-                    .map(user -> tokenVersion != null && tokenVersion.equals(user.getTokenVersion()) && user.isEnabled())
-                    .orElse(false);
+            TokenState state = loadTokenState(userId);
+            boolean isValid = state != null && tokenVersion != null
+                    && tokenVersion.equals(state.tokenVersion()) && state.enabled();
             
             if (!isValid) {
                 // Token 版本号不匹配或用户已被禁用，此 Token 已失效
@@ -50,11 +71,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
             
+            // 权限按 role_id 生成（超级管理员为 ROLE_ADMIN），之前签发的 Token 没有 roleId 时沿用角色名称
+            String role = roleId != null ? roleId : roleName != null ? roleName : "USER";
+
             // 创建认证对象
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     email,
                     null,
-                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + (roleName != null ? roleName.toUpperCase() : "USER")))
+                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
             );
             
             // 存储额外信息
@@ -66,11 +90,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private TokenState loadTokenState(String userId) {
+        long now = System.currentTimeMillis();
+        TokenState cached = tokenStates.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached;
+        }
+        long observed = generation.get();
+        TokenState state = userRepository.findByUserId(userId)
+                .map(user -> new TokenState(user.getTokenVersion(), user.isEnabled(), now + tokenCacheTtlMs))
+                .orElse(null);
+        if (state != null && generation.get() == observed) {
+            if (tokenStates.size() >= TOKEN_CACHE_MAX_SIZE) {
+                tokenStates.clear();
+            }
+            tokenStates.put(userId, state);
+        }
+        return state;
+    }
+
+    private record TokenState(Integer tokenVersion, boolean enabled, long expiresAt) {
+    }
+
     /**
      * 从请求中提取 Token
      * 优先从 Authorization Header 获取，其次从 Cookie 获取
      */
-    private String extractToken(HttpServletRequest request) {
+    static String extractToken(HttpServletRequest request) {
         // 1. 从 Authorization Header 获取
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -0,0 +1,201 @@
+package com.deepveir.blog.filter;
+
+import com.deepveir.blog.util.AdaptiveConcurrencyLimit;
+import com.deepveir.blog.util.JwtUtil;
+import com.deepveir.blog.util.TokenBucket;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 过载保护
+ * 1. 按路由分组的令牌桶限制请求速率，超出时立即返回 429；登录等认证接口按客户端 IP 分别限速，
+ *    一个客户端刷登录接口不会让管理员也无法登录；
+ * 2. 自适应并发上限（{@link AdaptiveConcurrencyLimit}）限制同时处理的请求数，超出时立即返回 503；
+ *    延迟按路由组分别统计基准。
+ * 被拒绝的请求不进入 Spring Security 与控制器，不占用数据库连接。
+ *
+ * 携带超级管理员 Token 的请求（后台管理）不受令牌桶限制，并且可以使用全部并发上限，
+ * 其余请求（包括普通注册用户）只能使用 1 - admin-reserve 的部分，公开接口被刷时后台仍然可用。
+ * Token 只校验签名、过期时间与其中的角色，不查询数据库。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final JwtUtil jwtUtil;
+    private final ClientIpResolver clientIpResolver;
+    private final boolean enabled;
+    private final double publicShare;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final List<Route> routes;
+    private final Route defaultRoute;
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+
+    public LoadSheddingFilter(JwtUtil jwtUtil,
+                              ClientIpResolver clientIpResolver,
+                              Environment environment,
+                              @Value("${blog.shedding.enabled:true}") boolean enabled,
+                              @Value("${blog.shedding.admin-reserve:0.2}") double adminReserve,
+                              @Value("${blog.shedding.initial-limit:20}") int initialLimit,
+                              @Value("${blog.shedding.min-limit:4}") int minLimit,
+                              @Value("${blog.shedding.max-limit:200}") int maxLimit,
+                              @Value("${blog.shedding.latency-tolerance:2.0}") double latencyTolerance,
+                              @Value("${blog.shedding.backoff:0.9}") double backoff) {
+        this.jwtUtil = jwtUtil;
+        this.clientIpResolver = clientIpResolver;
+        this.enabled = enabled;
+        this.publicShare = 1 - adminReserve;
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyTolerance, backoff);
+        // 按顺序匹配路径前缀；媒体文件由 sendfile 发送、上传耗时取决于客户端网速，不计入并发上限
+        this.routes = List.of(
+                Route.of(environment, concurrencyLimit, "media", false, false, 200, 400, "/api/media/", "/api/images/"),
+                Route.of(environment, concurrencyLimit, "auth", true, true, 10, 20, "/api/auth/"),
+                Route.of(environment, concurrencyLimit, "stats", true, false, 100, 200, "/api/stats/"),
+                Route.of(environment, concurrencyLimit, "content", true, false, 300, 600,
+                        "/api/articles", "/api/categories", "/api/tags", "/api/pages"),
+                Route.of(environment, concurrencyLimit, "feed", true, false, 20, 40,
+                        "/feed.xml", "/atom.xml", "/sitemap.xml"));
+        this.defaultRoute = Route.of(environment, concurrencyLimit, "default", true, false, 100, 200);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "OPTIONS".equalsIgnoreCase(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Route route = route(request.getRequestURI().substring(request.getContextPath().length()));
+        boolean privileged = isPrivileged(request);
+        if (!privileged && route.rateLimit() != null && !route.rateLimit().tryAcquire(request, clientIpResolver)) {
+            rateLimited.incrementAndGet();
+            reject(response, 429, "请求过于频繁，请稍后再试");
+            return;
+        }
+        if (!route.concurrencyLimited()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!concurrencyLimit.tryAcquire(privileged ? 1.0 : publicShare)) {
+            shed.incrementAndGet();
+            reject(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "服务繁忙，请稍后再试");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // 只用读请求的延迟判断负载，写请求的耗时与数据量相关
+            boolean sampled = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+            concurrencyLimit.release(route.latency(), sampled ? System.nanoTime() - start : -1);
+        }
+    }
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimit.getLimit();
+    }
+
+    public int getInFlight() {
+        return concurrencyLimit.getInFlight();
+    }
+
+    public long getRateLimited() {
+        return rateLimited.get();
+    }
+
+    public long getShed() {
+        return shed.get();
+    }
+
+    private Route route(String path) {
+        for (Route route : routes) {
+            for (String prefix : route.prefixes()) {
+                if (path.startsWith(prefix)) {
+                    return route;
+                }
+            }
+        }
+        return defaultRoute;
+    }
+
+    private boolean isPrivileged(HttpServletRequest request) {
+        String token = JwtAuthenticationFilter.extractToken(request);
+        return token != null && jwtUtil.isAdmin(token);
+    }
+
+    private static void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType("application/json;charset=UTF-8");
+        byte[] body = ("{\"error\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * 路由分组；速率为 0 时该组不限速
+     * 配置项：blog.shedding.route.{name}.rate（每秒）与 blog.shedding.route.{name}.burst
+     */
+    private record Route(String name, RateLimit rateLimit, boolean concurrencyLimited,
+                         AdaptiveConcurrencyLimit.Group latency, String... prefixes) {
+
+        static Route of(Environment environment, AdaptiveConcurrencyLimit concurrencyLimit, String name,
+                        boolean concurrencyLimited, boolean perClient,
+                        double defaultRate, int defaultBurst, String... prefixes) {
+            double rate = environment.getProperty("blog.shedding.route." + name + ".rate", Double.class, defaultRate);
+            int burst = environment.getProperty("blog.shedding.route." + name + ".burst", Integer.class, defaultBurst);
+            return new Route(name, rate > 0 ? new RateLimit(rate, burst, perClient) : null, concurrencyLimited,
+                    concurrencyLimit.newGroup(), prefixes);
+        }
+    }
+
+    /**
+     * 路由组的令牌桶：所有客户端共用一个，或每个客户端 IP 一个
+     * 按 IP 限速时，桶的数量超过上限后清理已经回满的桶（与新建的桶等价），只保留最近仍在限速中的客户端。
+     */
+    private static final class RateLimit {
+
+        private static final int MAX_CLIENTS = 10_000;
+
+        private final double rate;
+        private final int burst;
+        private final TokenBucket shared;
+        private final Map<String, TokenBucket> clients;
+
+        RateLimit(double rate, int burst, boolean perClient) {
+            this.rate = rate;
+            this.burst = burst;
+            this.shared = perClient ? null : new TokenBucket(rate, burst);
+            this.clients = perClient ? new ConcurrentHashMap<>() : null;
+        }
+
+        boolean tryAcquire(HttpServletRequest request, ClientIpResolver clientIpResolver) {
+            if (shared != null) {
+                return shared.tryAcquire();
+            }
+            if (clients.size() > MAX_CLIENTS) {
+                clients.values().removeIf(TokenBucket::isIdle);
+            }
+            return clients.computeIfAbsent(clientIpResolver.resolve(request), ip -> new TokenBucket(rate, burst))
+                    .tryAcquire();
+        }
+    }
+}
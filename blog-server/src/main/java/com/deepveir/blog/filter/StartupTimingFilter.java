@@ -0,0 +1,68 @@
+package com.deepveir.blog.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 记录启动耗时：从 JVM 启动到上下文就绪、到第一个业务请求处理完成的毫秒数
+ * 健康检查请求不计入；启动预热发出的请求计入，它就是新实例能够处理的第一个请求。
+ * 结果打印到日志，并在 /api/health/ready 中返回，用于比较 CDS 归档等启动优化的效果。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimingFilter.class);
+
+    private final AtomicBoolean recorded = new AtomicBoolean();
+    private volatile long contextReadyMs = -1;
+    private volatile long firstRequestMs = -1;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        contextReadyMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("Application context ready {}ms after JVM start", contextReadyMs);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return recorded.get() || request.getRequestURI().startsWith(request.getContextPath() + "/api/health/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (recorded.compareAndSet(false, true)) {
+                firstRequestMs = ManagementFactory.getRuntimeMXBean().getUptime();
+                log.info("First request ({} {}) served {}ms after JVM start",
+                        request.getMethod(), request.getRequestURI(), firstRequestMs);
+            }
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("contextReadyMs", contextReadyMs);
+        status.put("firstRequestMs", firstRequestMs);
+        return status;
+    }
+}
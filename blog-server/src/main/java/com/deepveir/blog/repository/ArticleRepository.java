@@ -1,13 +1,18 @@
 package com.deepveir.blog.repository;
 
+import com.deepveir.blog.dto.ArticleSummaryDto;
+import com.deepveir.blog.dto.FeedEntryDto;
 import com.deepveir.blog.entity.Article;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,6 +32,14 @@ public interface ArticleRepository extends JpaRepository<Article, UUID> {
     
     boolean existsByArticleId(String articleId);
 
+    // 只取业务 ID（主键查询，不加载正文与关联）
+    @Query("SELECT a.articleId FROM Article a WHERE a.id = :id")
+    Optional<String> findArticleIdById(@Param("id") UUID id);
+
+    // 作者的已发布文章业务 ID，作者展示信息变化时用于定位受影响的文章
+    @Query("SELECT a.articleId FROM Article a WHERE a.author.userId = :userId AND a.status = 'published'")
+    List<String> findPublishedArticleIdsByAuthor(@Param("userId") String userId);
+
     // 根据分类查找相关文章（排除当前文章）
     @Query("SELECT a FROM Article a WHERE a.category.categoryId = :categoryId AND a.articleId <> :excludeArticleId AND a.status = 'published' ORDER BY a.publishedAt DESC")
     List<Article> findRelatedByCategory(@Param("categoryId") String categoryId, 
@@ -38,4 +51,41 @@ public interface ArticleRepository extends JpaRepository<Article, UUID> {
     List<Article> findRelatedByTags(@Param("tagIds") List<String> tagIds, 
                                     @Param("excludeArticleId") String excludeArticleId, 
                                     Pageable pageable);
+
+    // 已发布文章摘要（不加载正文），按发布时间倒序
+    @Query("SELECT new com.deepveir.blog.dto.ArticleSummaryDto(a.articleId, a.title, a.summary, a.coverImage, a.readTime, a.publishedAt, a.updateTime, c.categoryId) " +
+           "FROM Article a LEFT JOIN a.category c WHERE a.status = 'published' ORDER BY a.publishedAt DESC")
+    List<ArticleSummaryDto> findPublishedSummaries();
+
+    // 已发布文章与标签的对应关系，每行为 [articleId, tagId]
+    @Query("SELECT a.articleId, t.tagId FROM Article a JOIN a.tags t WHERE a.status = 'published'")
+    List<Object[]> findPublishedArticleTagPairs();
+
+    // 按业务 ID 批量读取摘要，只用于回填筛选结果的当前页
+    @Query("SELECT new com.deepveir.blog.dto.ArticleSummaryDto(a.articleId, a.title, a.summary, a.coverImage, a.readTime, a.publishedAt, a.updateTime, c.categoryId) " +
+           "FROM Article a LEFT JOIN a.category c WHERE a.articleId IN :articleIds")
+    List<ArticleSummaryDto> findSummariesByArticleIds(@Param("articleIds") Collection<String> articleIds);
+
+    // 指定文章与标签的对应关系，每行为 [articleId, tagId]
+    @Query("SELECT a.articleId, t.tagId FROM Article a JOIN a.tags t WHERE a.articleId IN :articleIds")
+    List<Object[]> findArticleTagPairs(@Param("articleIds") Collection<String> articleIds);
+
+    // RSS / Atom 条目：优先使用摘要，没有摘要时只截取正文开头，不读取完整 longtext
+    @Query("SELECT new com.deepveir.blog.dto.FeedEntryDto(a.articleId, a.title, COALESCE(a.summary, SUBSTRING(a.content, 1, 500)), a.publishedAt, a.updateTime, u.username, c.name) " +
+           "FROM Article a LEFT JOIN a.author u LEFT JOIN a.category c WHERE a.status = 'published' ORDER BY a.publishedAt DESC")
+    List<FeedEntryDto> findFeedEntries(Pageable pageable);
+
+    // 站点地图：已发布文章的 [articleId, updateTime]
+    @Query("SELECT a.articleId, a.updateTime FROM Article a WHERE a.status = 'published' ORDER BY a.publishedAt DESC")
+    List<Object[]> findPublishedSitemapEntries();
+
+    // 等待定时发布的文章 [articleId, publishedAt]
+    @Query("SELECT a.articleId, a.publishedAt FROM Article a WHERE a.status = 'scheduled'")
+    List<Object[]> findScheduledEntries();
+
+    // 条件更新：只有仍处于 scheduled 且已到发布时间的文章才会被发布，多实例同时触发时只有一个成功
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Article a SET a.status = 'published', a.updateTime = :now " +
+           "WHERE a.articleId = :articleId AND a.status = 'scheduled' AND a.publishedAt <= :now")
+    int publishIfDue(@Param("articleId") String articleId, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,20 @@
+package com.deepveir.blog.repository;
+
+import com.deepveir.blog.entity.AuditLog;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+
+    // 条件为 null 时不过滤，按时间倒序
+    @Query("SELECT a FROM AuditLog a WHERE (:entityType IS NULL OR a.entityType = :entityType) " +
+           "AND (:entityId IS NULL OR a.entityId = :entityId) " +
+           "AND (:actorId IS NULL OR a.actorId = :actorId) ORDER BY a.createTime DESC, a.id DESC")
+    Page<AuditLog> search(@Param("entityType") String entityType,
+                          @Param("entityId") String entityId,
+                          @Param("actorId") String actorId,
+                          Pageable pageable);
+}
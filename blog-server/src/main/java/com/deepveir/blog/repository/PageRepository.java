@@ -2,6 +2,7 @@ package com.deepveir.blog.repository;
 
 import com.deepveir.blog.entity.Page;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +13,8 @@ import java.util.UUID;
 public interface PageRepository extends JpaRepository<Page, UUID> {
     Optional<Page> findByPageId(String pageId);
     List<Page> findByStatus(Integer status);
+
+    // 站点地图：已发布页面的 [pageId, updateTime]，不加载正文
+    @Query("SELECT p.pageId, p.updateTime FROM Page p WHERE p.status = 1")
+    List<Object[]> findPublishedSitemapEntries();
 }
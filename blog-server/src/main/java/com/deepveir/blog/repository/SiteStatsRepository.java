@@ -2,8 +2,11 @@ package com.deepveir.blog.repository;
 
 import com.deepveir.blog.entity.SiteStats;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -24,4 +27,15 @@ public interface SiteStatsRepository extends JpaRepository<SiteStats, Long> {
     // 获取总 UV
     @Query("SELECT COALESCE(SUM(s.uniqueVisitors), 0) FROM SiteStats s")
     Long getTotalUniqueVisitors();
+
+    // 累加某天的 PV / UV，记录不存在时插入；单条语句完成，多个实例并发累加不会互相覆盖
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO site_stats (date, page_views, unique_visitors) VALUES (:date, :pageViews, :uniqueVisitors) " +
+                   "ON DUPLICATE KEY UPDATE page_views = page_views + VALUES(page_views), " +
+                   "unique_visitors = unique_visitors + VALUES(unique_visitors)",
+           nativeQuery = true)
+    int addCounts(@Param("date") LocalDate date,
+                  @Param("pageViews") long pageViews,
+                  @Param("uniqueVisitors") long uniqueVisitors);
 }
@@ -0,0 +1,255 @@
+package com.deepveir.blog.service;
+
+import com.deepveir.blog.cache.CachedBody;
+import com.deepveir.blog.cache.InvalidationBus;
+import com.deepveir.blog.dto.ArchiveEntryDto;
+import com.deepveir.blog.dto.ArchiveMonthDto;
+import com.deepveir.blog.dto.ArchiveYearDto;
+import com.deepveir.blog.entity.Article;
+import com.deepveir.blog.event.ArticleChangedEvent;
+import com.deepveir.blog.event.ArticleSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章归档（按年 / 月）
+ * 已发布文章的标题与发布时间按月分桶常驻内存，每个月是一个按发布时间倒序、不可变的列表，
+ * 文章变更时只替换受影响的月份。读取时不访问数据库：总览序列化一次后缓存到下次变更，
+ * 月内分页直接截取列表。
+ *
+ * 月内顺序为发布时间倒序、articleId 倒序，同一时刻发布的文章顺序也固定；
+ * 以上一页最后一篇的 articleId 作为游标翻页时，期间新发布的文章不会导致重复或遗漏。
+ */
+@Service
+public class ArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveService.class);
+
+    private static final String PUBLISHED_SQL = "SELECT article_id, title, published_at FROM articles " +
+            "WHERE status = '" + Article.STATUS_PUBLISHED + "' AND published_at IS NOT NULL";
+    private static final Comparator<ArchiveEntryDto> NEWEST_FIRST = Comparator
+            .comparing(ArchiveEntryDto::getPublishedAt, Comparator.reverseOrder())
+            .thenComparing(ArchiveEntryDto::getArticleId, Comparator.reverseOrder());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int previewSize;
+    private final long rebuildMinutes;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "archive");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 修改只在持有 lock 时进行；读取不加锁，每个月的列表不可变，整体替换
+    private final Object lock = new Object();
+    private final Map<String, ArchiveEntryDto> entries = new ConcurrentHashMap<>();
+    private final NavigableMap<YearMonth, List<ArchiveEntryDto>> months = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+    private Set<String> changedDuringRebuild;
+    private volatile CachedBody overview;
+
+    public ArchiveService(JdbcTemplate jdbcTemplate,
+                          ObjectMapper objectMapper,
+                          InvalidationBus invalidationBus,
+                          @Value("${blog.archive.preview-size:5}") int previewSize,
+                          @Value("${blog.archive.rebuild-minutes:60}") long rebuildMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.previewSize = previewSize;
+        this.rebuildMinutes = rebuildMinutes;
+        // 其他实例的文章变更只带 articleId，重新读取这一篇
+        invalidationBus.subscribe(InvalidationBus.REGION_ARTICLE, (articleId, remote) -> {
+            if (remote) {
+                executor.execute(() -> reload(articleId));
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(this::rebuild);
+        if (rebuildMinutes > 0) {
+            executor.scheduleWithFixedDelay(this::rebuild, rebuildMinutes, rebuildMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!event.isPublicChange()) {
+            return;
+        }
+        ArticleSnapshot after = event.getAfter();
+        apply(event.getArticleId(), after != null && after.isPublished() && after.publishedAt() != null
+                ? new ArchiveEntryDto(after.articleId(), after.title(), after.publishedAt())
+                : null);
+    }
+
+    /**
+     * 归档总览：每年、每月的文章数与每月最新的 preview-size 篇
+     */
+    public CachedBody getOverview() throws IOException {
+        CachedBody body = overview;
+        if (body != null) {
+            return body;
+        }
+        synchronized (lock) {
+            if (overview == null) {
+                overview = CachedBody.json(objectMapper, buildOverview());
+            }
+            return overview;
+        }
+    }
+
+    /**
+     * 月内分页；after 为上一页最后一篇的 articleId，给出时忽略 page
+     */
+    public ArchiveMonthDto getMonth(YearMonth month, String after, int page, int size) {
+        List<ArchiveEntryDto> list = months.getOrDefault(month, List.of());
+        int from = (int) Math.min((long) page * size, list.size());
+        if (after != null) {
+            ArchiveEntryDto cursor = entries.get(after);
+            if (cursor == null || !YearMonth.from(cursor.getPublishedAt()).equals(month)) {
+                // 游标文章已删除或移到其他月份，无法定位时从头开始
+                from = 0;
+            } else {
+                int index = Collections.binarySearch(list, cursor, NEWEST_FIRST);
+                from = index >= 0 ? index + 1 : -index - 1;
+            }
+        }
+        from = Math.min(from, list.size());
+        int to = Math.min(from + size, list.size());
+        return new ArchiveMonthDto(month.toString(), list.size(), list.subList(from, to), to < list.size());
+    }
+
+    /**
+     * 从数据库全量重建
+     */
+    public void rebuild() {
+        synchronized (lock) {
+            changedDuringRebuild = new HashSet<>();
+        }
+        try {
+            Map<String, ArchiveEntryDto> loaded = new HashMap<>();
+            Map<YearMonth, List<ArchiveEntryDto>> grouped = new TreeMap<>();
+            jdbcTemplate.query(PUBLISHED_SQL, rs -> {
+                ArchiveEntryDto entry = new ArchiveEntryDto(rs.getString(1), rs.getString(2),
+                        rs.getTimestamp(3).toLocalDateTime());
+                loaded.put(entry.getArticleId(), entry);
+                grouped.computeIfAbsent(YearMonth.from(entry.getPublishedAt()), m -> new ArrayList<>()).add(entry);
+            });
+            Set<String> changed;
+            synchronized (lock) {
+                changed = changedDuringRebuild;
+                changedDuringRebuild = null;
+                // 先写入新内容再移除多余的键，并发读取不会看到空的归档
+                entries.putAll(loaded);
+                entries.keySet().retainAll(loaded.keySet());
+                grouped.forEach((month, list) -> {
+                    list.sort(NEWEST_FIRST);
+                    months.put(month, List.copyOf(list));
+                });
+                months.keySet().retainAll(grouped.keySet());
+                overview = null;
+            }
+            changed.forEach(this::reload);
+        } catch (Exception e) {
+            synchronized (lock) {
+                changedDuringRebuild = null;
+            }
+            log.warn("Failed to rebuild article archive", e);
+        }
+    }
+
+    private void reload(String articleId) {
+        try {
+            List<ArchiveEntryDto> found = jdbcTemplate.query(PUBLISHED_SQL + " AND article_id = ?",
+                    (rs, i) -> new ArchiveEntryDto(rs.getString(1), rs.getString(2), rs.getTimestamp(3).toLocalDateTime()),
+                    articleId);
+            apply(articleId, found.isEmpty() ? null : found.get(0));
+        } catch (Exception e) {
+            log.warn("Failed to reload article {} into archive", articleId, e);
+        }
+    }
+
+    /**
+     * 用新的条目替换（entry 为空时移除）一篇文章，只重建受影响的月份
+     */
+    private void apply(String articleId, ArchiveEntryDto entry) {
+        synchronized (lock) {
+            ArchiveEntryDto previous = entries.remove(articleId);
+            if (previous != null) {
+                YearMonth month = YearMonth.from(previous.getPublishedAt());
+                List<ArchiveEntryDto> list = new ArrayList<>(months.getOrDefault(month, List.of()));
+                list.removeIf(e -> e.getArticleId().equals(articleId));
+                replaceMonth(month, list);
+            }
+            if (entry != null) {
+                entries.put(articleId, entry);
+                YearMonth month = YearMonth.from(entry.getPublishedAt());
+                List<ArchiveEntryDto> list = new ArrayList<>(months.getOrDefault(month, List.of()));
+                int index = Collections.binarySearch(list, entry, NEWEST_FIRST);
+                list.add(index >= 0 ? index : -index - 1, entry);
+                replaceMonth(month, list);
+            }
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(articleId);
+            }
+            overview = null;
+        }
+    }
+
+    private void replaceMonth(YearMonth month, List<ArchiveEntryDto> list) {
+        if (list.isEmpty()) {
+            months.remove(month);
+        } else {
+            months.put(month, List.copyOf(list));
+        }
+    }
+
+    private List<ArchiveYearDto> buildOverview() {
+        List<ArchiveYearDto> years = new ArrayList<>();
+        ArchiveYearDto current = null;
+        for (Map.Entry<YearMonth, List<ArchiveEntryDto>> e : months.entrySet()) {
+            List<ArchiveEntryDto> list = e.getValue();
+            if (current == null || current.getYear() != e.getKey().getYear()) {
+                current = new ArchiveYearDto(e.getKey().getYear(), 0, new ArrayList<>());
+                years.add(current);
+            }
+            current.setCount(current.getCount() + list.size());
+            current.getMonths().add(new ArchiveMonthDto(e.getKey().toString(), list.size(),
+                    list.subList(0, Math.min(previewSize, list.size())), list.size() > previewSize));
+        }
+        return years;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
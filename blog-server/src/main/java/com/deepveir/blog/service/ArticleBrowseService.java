@@ -0,0 +1,488 @@
+package com.deepveir.blog.service;
+
+import com.deepveir.blog.cache.InvalidationBus;
+import com.deepveir.blog.dto.ArticleBrowseResultDto;
+import com.deepveir.blog.dto.ArticleSummaryDto;
+import com.deepveir.blog.entity.Article;
+import com.deepveir.blog.event.ArticleChangedEvent;
+import com.deepveir.blog.event.ArticleSnapshot;
+import com.deepveir.blog.event.TaxonomyChangedEvent;
+import com.deepveir.blog.repository.ArticleRepository;
+import jakarta.annotation.PreDestroy;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 文章多条件筛选
+ * 每篇文章分配一个内存中的整数编号，按状态、分类、标签、发布月份各维护一个 RoaringBitmap。
+ * 筛选时对位图求交集得到结果集，再与各分类 / 标签 / 月份的位图求交集基数得到分面计数，
+ * 全程不访问数据库；只有排序后的当前页按 articleId 从 MySQL 读取摘要。
+ *
+ * 索引只保存元数据（不含标题、正文），根据文章变更事件增量维护，
+ * 启动时、其他实例有分类标签变更时以及每隔 rebuild-minutes 从数据库全量重建。
+ */
+@Service
+public class ArticleBrowseService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleBrowseService.class);
+
+    private static final String ARTICLES_SQL = "SELECT article_id, status, category_id, published_at FROM articles";
+    private static final String ARTICLE_TAGS_SQL = "SELECT article_id, tag_id FROM article_tags";
+    private static final long REBUILD_DELAY_SECONDS = 2;
+
+    private final ArticleRepository articleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long rebuildMinutes;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "browse-index");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 查询持有读锁，增量更新与替换索引持有写锁
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    // 全量重建期间变更过的文章，重建完成后重新读取，避免被重建读到的旧数据覆盖
+    private Set<String> changedDuringRebuild;
+    private boolean rebuildScheduled;
+
+    public ArticleBrowseService(ArticleRepository articleRepository,
+                                JdbcTemplate jdbcTemplate,
+                                InvalidationBus invalidationBus,
+                                @Value("${blog.browse.rebuild-minutes:60}") long rebuildMinutes) {
+        this.articleRepository = articleRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.rebuildMinutes = rebuildMinutes;
+        // 其他实例的文章变更只带 articleId，重新读取这一篇
+        invalidationBus.subscribe(InvalidationBus.REGION_ARTICLE, (articleId, remote) -> {
+            if (remote) {
+                executor.execute(() -> reload(articleId));
+            }
+        });
+        invalidationBus.subscribe(InvalidationBus.REGION_TAXONOMY, (key, remote) -> {
+            if (remote) {
+                requestRebuild();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(this::rebuild);
+        if (rebuildMinutes > 0) {
+            executor.scheduleWithFixedDelay(this::rebuild, rebuildMinutes, rebuildMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        ArticleSnapshot after = event.getAfter();
+        Doc doc = after == null ? null : new Doc(after.articleId(), after.status(), after.categoryId(),
+                after.tagIds(), after.publishedAt());
+        apply(event.getArticleId(), doc);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaxonomyChanged(TaxonomyChangedEvent event) {
+        // 标签或分类删除时数据库级联清除了关联，索引中的位图需要重新统计
+        requestRebuild();
+    }
+
+    /**
+     * 筛选已发布文章，按发布时间倒序分页
+     *
+     * @param categoryId 分类，为空表示不限
+     * @param tagIds     同时带有的所有标签
+     * @param from       发布时间下限（含），为空表示不限
+     * @param to         发布时间上限（不含），为空表示不限
+     */
+    @Transactional(readOnly = true)
+    public ArticleBrowseResultDto browse(String categoryId, List<String> tagIds,
+                                         LocalDateTime from, LocalDateTime to, int page, int size) {
+        ArticleBrowseResultDto result = new ArticleBrowseResultDto();
+        List<String> pageIds;
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = index.filter(categoryId, tagIds, from, to);
+            result.setTotal(matches.getLongCardinality());
+            result.setCategories(sortedByCount(facet(matches, index.byCategory)));
+            result.setTags(sortedByCount(facet(matches, index.byTag)));
+            Map<String, Integer> months = new LinkedHashMap<>();
+            index.byMonth.descendingMap().forEach((month, bitmap) -> {
+                int count = RoaringBitmap.andCardinality(matches, bitmap);
+                if (count > 0) {
+                    months.put(YearMonth.of(month / 12, month % 12 + 1).toString(), count);
+                }
+            });
+            result.setMonths(months);
+            pageIds = index.page(matches, page, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.setPage(page);
+        result.setSize(size);
+        result.setArticles(hydrate(pageIds));
+        return result;
+    }
+
+    /**
+     * 从数据库全量重建索引
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+            rebuildScheduled = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Map<String, Set<String>> tagsByArticle = new HashMap<>();
+            jdbcTemplate.query(ARTICLE_TAGS_SQL, rs -> {
+                tagsByArticle.computeIfAbsent(rs.getString(1), k -> new HashSet<>()).add(rs.getString(2));
+            });
+            Index rebuilt = new Index();
+            jdbcTemplate.query(ARTICLES_SQL, rs -> {
+                String articleId = rs.getString(1);
+                rebuilt.put(new Doc(articleId, rs.getString(2), rs.getString(3),
+                        tagsByArticle.getOrDefault(articleId, Set.of()), toLocalDateTime(rs.getTimestamp(4))));
+            });
+            rebuilt.optimize();
+            Set<String> changed;
+            lock.writeLock().lock();
+            try {
+                changed = changedDuringRebuild;
+                changedDuringRebuild = null;
+                index = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            changed.forEach(this::reload);
+            log.debug("Browse index rebuilt: {} articles in {} ms", rebuilt.docIds.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("Failed to rebuild browse index", e);
+        }
+    }
+
+    private void requestRebuild() {
+        lock.writeLock().lock();
+        try {
+            if (!rebuildScheduled) {
+                rebuildScheduled = true;
+                executor.schedule(this::rebuild, REBUILD_DELAY_SECONDS, TimeUnit.SECONDS);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 从数据库重新读取一篇文章的元数据，已删除时从索引中移除
+     */
+    private void reload(String articleId) {
+        try {
+            Set<String> tagIds = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT tag_id FROM article_tags WHERE article_id = ?", String.class, articleId));
+            List<Doc> docs = jdbcTemplate.query(ARTICLES_SQL + " WHERE article_id = ?",
+                    (rs, i) -> new Doc(rs.getString(1), rs.getString(2), rs.getString(3), tagIds,
+                            toLocalDateTime(rs.getTimestamp(4))),
+                    articleId);
+            apply(articleId, docs.isEmpty() ? null : docs.get(0));
+        } catch (Exception e) {
+            log.warn("Failed to reload article {} into browse index", articleId, e);
+        }
+    }
+
+    private void apply(String articleId, Doc doc) {
+        lock.writeLock().lock();
+        try {
+            index.remove(articleId);
+            if (doc != null) {
+                index.put(doc);
+            }
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(articleId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<ArticleSummaryDto> hydrate(List<String> articleIds) {
+        if (articleIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, ArticleSummaryDto> byId = articleRepository.findSummariesByArticleIds(articleIds).stream()
+                .collect(Collectors.toMap(ArticleSummaryDto::getArticleId, Function.identity()));
+        for (Object[] pair : articleRepository.findArticleTagPairs(articleIds)) {
+            ArticleSummaryDto summary = byId.get((String) pair[0]);
+            if (summary != null) {
+                summary.getTagIds().add((String) pair[1]);
+            }
+        }
+        // 按索引中的顺序输出；从库尚未同步到的文章直接跳过
+        List<ArticleSummaryDto> summaries = new ArrayList<>(articleIds.size());
+        for (String articleId : articleIds) {
+            ArticleSummaryDto summary = byId.get(articleId);
+            if (summary != null) {
+                summaries.add(summary);
+            }
+        }
+        return summaries;
+    }
+
+    private static Map<String, Integer> facet(RoaringBitmap matches, Map<String, RoaringBitmap> bitmaps) {
+        Map<String, Integer> counts = new HashMap<>();
+        bitmaps.forEach((key, bitmap) -> {
+            int count = RoaringBitmap.andCardinality(matches, bitmap);
+            if (count > 0) {
+                counts.put(key, count);
+            }
+        });
+        return counts;
+    }
+
+    private static Map<String, Integer> sortedByCount(Map<String, Integer> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 一篇文章在索引中的元数据
+     */
+    private record Doc(String articleId, String status, String categoryId, Set<String> tagIds,
+                       LocalDateTime publishedAt) {
+    }
+
+    /**
+     * 位图索引本体，由外层的读写锁保护
+     * 文章删除后编号不复用，全量重建时重新紧凑分配。
+     */
+    private static final class Index {
+        final Map<String, Integer> docIds = new HashMap<>();
+        final List<Doc> docs = new ArrayList<>();
+        final Map<String, RoaringBitmap> byStatus = new HashMap<>();
+        final Map<String, RoaringBitmap> byCategory = new HashMap<>();
+        final Map<String, RoaringBitmap> byTag = new HashMap<>();
+        // 键为 year * 12 + month - 1
+        final NavigableMap<Integer, RoaringBitmap> byMonth = new TreeMap<>();
+        // 没有发布时间的文章
+        final RoaringBitmap undated = new RoaringBitmap();
+        // 每个月份内按发布时间倒序排列的编号，分页时按需生成，月份位图变化时移除；查询在读锁下并发生成
+        final Map<Integer, int[]> monthOrder = new ConcurrentHashMap<>();
+
+        void put(Doc doc) {
+            int id = docs.size();
+            docs.add(doc);
+            docIds.put(doc.articleId(), id);
+            update(doc, id, true);
+        }
+
+        void remove(String articleId) {
+            Integer id = docIds.remove(articleId);
+            if (id != null) {
+                update(docs.get(id), id, false);
+                docs.set(id, null);
+            }
+        }
+
+        private void update(Doc doc, int id, boolean add) {
+            if (doc.status() != null) {
+                update(byStatus, doc.status(), id, add);
+            }
+            if (doc.categoryId() != null) {
+                update(byCategory, doc.categoryId(), id, add);
+            }
+            for (String tagId : doc.tagIds()) {
+                update(byTag, tagId, id, add);
+            }
+            if (doc.publishedAt() != null) {
+                int month = monthKey(doc.publishedAt());
+                update(byMonth, month, id, add);
+                monthOrder.remove(month);
+            } else if (add) {
+                undated.add(id);
+            } else {
+                undated.remove(id);
+            }
+        }
+
+        private static <K> void update(Map<K, RoaringBitmap> bitmaps, K key, int id, boolean add) {
+            if (add) {
+                bitmaps.computeIfAbsent(key, k -> new RoaringBitmap()).add(id);
+                return;
+            }
+            RoaringBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                bitmap.remove(id);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(key);
+                }
+            }
+        }
+
+        void optimize() {
+            byStatus.values().forEach(RoaringBitmap::runOptimize);
+            byCategory.values().forEach(RoaringBitmap::runOptimize);
+            byTag.values().forEach(RoaringBitmap::runOptimize);
+            byMonth.values().forEach(RoaringBitmap::runOptimize);
+            undated.runOptimize();
+        }
+
+        RoaringBitmap filter(String categoryId, List<String> tagIds, LocalDateTime from, LocalDateTime to) {
+            List<RoaringBitmap> required = new ArrayList<>();
+            required.add(byStatus.get(Article.STATUS_PUBLISHED));
+            if (categoryId != null) {
+                required.add(byCategory.get(categoryId));
+            }
+            for (String tagId : tagIds) {
+                required.add(byTag.get(tagId));
+            }
+            if (required.contains(null)) {
+                return new RoaringBitmap();
+            }
+            RoaringBitmap matches = required.size() == 1
+                    ? required.get(0).clone()
+                    : FastAggregation.and(required.iterator());
+            if (from != null || to != null) {
+                matches.and(withinMonths(from, to));
+                // 边界月份中只有部分文章落在区间内，逐篇比较发布时间
+                if (from != null) {
+                    trimMonth(matches, monthKey(from), from, to);
+                }
+                if (to != null) {
+                    trimMonth(matches, monthKey(to), from, to);
+                }
+            }
+            return matches;
+        }
+
+        private RoaringBitmap withinMonths(LocalDateTime from, LocalDateTime to) {
+            int first = from != null ? monthKey(from) : Integer.MIN_VALUE;
+            int last = to != null ? monthKey(to) : Integer.MAX_VALUE;
+            if (first > last) {
+                return new RoaringBitmap();
+            }
+            return FastAggregation.or(byMonth.subMap(first, true, last, true).values().iterator());
+        }
+
+        private void trimMonth(RoaringBitmap matches, int month, LocalDateTime from, LocalDateTime to) {
+            RoaringBitmap bitmap = byMonth.get(month);
+            if (bitmap == null) {
+                return;
+            }
+            for (int id : RoaringBitmap.and(matches, bitmap).toArray()) {
+                LocalDateTime publishedAt = docs.get(id).publishedAt();
+                if ((from != null && publishedAt.isBefore(from)) || (to != null && !publishedAt.isBefore(to))) {
+                    matches.remove(id);
+                }
+            }
+        }
+
+        /**
+         * 按发布时间倒序取第 page 页的 articleId；发布时间相同时编号大的（后写入的）在前，没有发布时间的排在最后
+         * 从最新的月份开始，用交集基数整月跳过 offset 之前的结果，只在当前页所在的月份内按顺序逐篇检查，
+         * 不需要取出并排序整个结果集。
+         */
+        List<String> page(RoaringBitmap matches, int page, int size) {
+            long skip = (long) page * size;
+            if (size <= 0 || skip >= matches.getLongCardinality()) {
+                return List.of();
+            }
+            List<String> result = new ArrayList<>(size);
+            for (Map.Entry<Integer, RoaringBitmap> month : byMonth.descendingMap().entrySet()) {
+                int count = RoaringBitmap.andCardinality(matches, month.getValue());
+                if (skip >= count) {
+                    skip -= count;
+                    continue;
+                }
+                for (int id : monthOrder(month.getKey(), month.getValue())) {
+                    if (!matches.contains(id)) {
+                        continue;
+                    }
+                    if (skip > 0) {
+                        skip--;
+                        continue;
+                    }
+                    result.add(docs.get(id).articleId());
+                    if (result.size() == size) {
+                        return result;
+                    }
+                }
+            }
+            IntIterator rest = RoaringBitmap.and(matches, undated).getReverseIntIterator();
+            while (rest.hasNext() && result.size() < size) {
+                int id = rest.next();
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    result.add(docs.get(id).articleId());
+                }
+            }
+            return result;
+        }
+
+        private int[] monthOrder(int month, RoaringBitmap bitmap) {
+            return monthOrder.computeIfAbsent(month, k -> IntStream.of(bitmap.toArray())
+                    .boxed()
+                    .sorted(Comparator.comparing((Integer id) -> docs.get(id).publishedAt()).reversed()
+                            .thenComparing(Comparator.reverseOrder()))
+                    .mapToInt(Integer::intValue)
+                    .toArray());
+        }
+
+        private static int monthKey(LocalDateTime time) {
+            return time.getYear() * 12 + time.getMonthValue() - 1;
+        }
+    }
+}
@@ -1,20 +1,34 @@
 package com.deepveir.blog.service;
 
+import com.deepveir.blog.cache.BodySource;
+import com.deepveir.blog.cache.CachedBody;
+import com.deepveir.blog.cache.InvalidationBus;
+import com.deepveir.blog.cache.OffHeapBodyStore;
+import com.deepveir.blog.dto.ArticleRevisionDto;
 import com.deepveir.blog.entity.Article;
 import com.deepveir.blog.entity.Category;
 import com.deepveir.blog.entity.Tag;
 import com.deepveir.blog.entity.User;
+import com.deepveir.blog.event.ArticleChangedEvent;
+import com.deepveir.blog.event.ArticleSnapshot;
 import com.deepveir.blog.repository.ArticleRepository;
 import com.deepveir.blog.repository.CategoryRepository;
 import com.deepveir.blog.repository.TagRepository;
 import com.deepveir.blog.repository.UserRepository;
+import com.deepveir.blog.util.SingleFlight;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import org.springframework.data.domain.PageRequest;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -32,21 +46,53 @@ public class ArticleService {
     private final TagRepository tagRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvalidationBus invalidationBus;
+    private final RevisionService revisionService;
+    private final OffHeapBodyStore bodyStore;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate loadTx;
+
+    // 已发布文章响应体的合并加载；bodyGeneration 在每次失效时递增，失效前开始的加载结果不放入缓存
+    private final SingleFlight<String, Optional<BodySource>> bodyLoads = new SingleFlight<>();
+    private final Object bodyLock = new Object();
+    private long bodyGeneration;
 
     public ArticleService(ArticleRepository articleRepository,
                           TagRepository tagRepository,
                           UserRepository userRepository,
-                          CategoryRepository categoryRepository) {
+                          CategoryRepository categoryRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          InvalidationBus invalidationBus,
+                          RevisionService revisionService,
+                          OffHeapBodyStore bodyStore,
+                          ObjectMapper objectMapper,
+                          PlatformTransactionManager transactionManager) {
         this.articleRepository = articleRepository;
         this.tagRepository = tagRepository;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.invalidationBus = invalidationBus;
+        this.revisionService = revisionService;
+        this.bodyStore = bodyStore;
+        this.objectMapper = objectMapper;
+        // 不标记为只读：失效后的重新加载必须读主库，从库延迟会把旧内容重新放进缓存
+        this.loadTx = new TransactionTemplate(transactionManager);
+        // 本实例提交后与其他实例的变更都会收到
+        invalidationBus.subscribe(InvalidationBus.REGION_ARTICLE, (articleId, remote) -> invalidateBody(articleId));
+        // 响应体中包含分类与标签，分类、标签删除后无法再定位到具体文章，清空全部响应体
+        invalidationBus.subscribe(InvalidationBus.REGION_TAXONOMY, (key, remote) -> invalidateAllBodies());
+        // 响应体中包含作者信息，只失效该作者的文章；登录、退出发布的 REGION_USER 只影响 Token 校验
+        invalidationBus.subscribe(InvalidationBus.REGION_AUTHOR, (userId, remote) -> invalidateAuthorBodies(userId));
     }
 
+    @Transactional(readOnly = true)
     public List<Article> listArticles() {
         return articleRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Page<Article> listArticles(Pageable pageable) {
         return articleRepository.findAllWithDetails(pageable);
     }
@@ -55,10 +101,74 @@ public class ArticleService {
         return articleRepository.findWithDetailsById(id);
     }
 
+    public Optional<String> getArticleIdById(UUID id) {
+        return articleRepository.findArticleIdById(id);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Article> getArticleByArticleId(String articleId) {
         return articleRepository.findByArticleId(articleId);
     }
 
+    /**
+     * 已发布文章的 JSON 响应体，未发布或不存在时返回 empty
+     * 响应体缓存在堆外（{@link OffHeapBodyStore}），命中时不访问数据库；未命中时同一篇文章的并发请求合并为一次查询与一次序列化。
+     * 本方法不在事务中执行，等待合并结果的请求不占用数据库连接。返回值写出后必须关闭。
+     */
+    public Optional<BodySource> getPublishedArticleBody(String articleId) throws IOException {
+        BodySource cached = bodyStore.get(articleId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return bodyLoads.execute(articleId, () -> {
+            long generation;
+            synchronized (bodyLock) {
+                generation = bodyGeneration;
+            }
+            // 序列化在事务内完成，作者等懒加载属性才能被读取
+            CachedBody body = loadTx.execute(status -> articleRepository.findByArticleId(articleId)
+                    .filter(article -> Article.STATUS_PUBLISHED.equals(article.getStatus()))
+                    .map(article -> {
+                        try {
+                            return CachedBody.json(objectMapper, article);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .orElse(null));
+            if (body != null) {
+                synchronized (bodyLock) {
+                    if (bodyGeneration == generation) {
+                        bodyStore.put(articleId, body);
+                    }
+                }
+            }
+            return Optional.ofNullable(body);
+        });
+    }
+
+    private void invalidateBody(String articleId) {
+        synchronized (bodyLock) {
+            bodyGeneration++;
+            bodyStore.invalidate(articleId);
+        }
+    }
+
+    private void invalidateAuthorBodies(String userId) {
+        List<String> articleIds = loadTx.execute(status -> articleRepository.findPublishedArticleIdsByAuthor(userId));
+        synchronized (bodyLock) {
+            bodyGeneration++;
+            articleIds.forEach(bodyStore::invalidate);
+        }
+    }
+
+    private void invalidateAllBodies() {
+        synchronized (bodyLock) {
+            bodyGeneration++;
+            bodyStore.clear();
+        }
+    }
+
     @Transactional
     public Article saveArticle(Article article) {
         if (article.getArticleId() == null || article.getArticleId().isEmpty()) {
@@ -67,12 +177,21 @@ public class ArticleService {
         if (article.getPublishedAt() == null) {
             article.setPublishedAt(LocalDateTime.now());
         }
-        return articleRepository.save(article);
+        applySchedule(article);
+        Article saved = articleRepository.saveAndFlush(article);
+        revisionService.record(saved, null);
+        publishChange(new ArticleChangedEvent(null, ArticleSnapshot.of(saved)));
+        return saved;
     }
 
     @Transactional
     public void deleteArticle(UUID id) {
+        Optional<Article> existing = articleRepository.findWithDetailsById(id);
         articleRepository.deleteById(id);
+        existing.ifPresent(article -> {
+            revisionService.deleteRevisions(article.getArticleId());
+            publishChange(new ArticleChangedEvent(ArticleSnapshot.of(article), null));
+        });
     }
 
     public Set<Tag> resolveTags(List<String> tagIds) {
@@ -102,6 +221,8 @@ public class ArticleService {
 
     @Transactional
     public Article updateArticle(Article existing, Article updates) {
+        ArticleSnapshot before = ArticleSnapshot.of(existing);
+        String previousContent = existing.getContent();
         if (updates.getTitle() != null) {
             existing.setTitle(updates.getTitle());
         }
@@ -129,18 +250,75 @@ public class ArticleService {
         if (updates.getCategory() != null) {
             existing.setCategory(updates.getCategory());
         }
+        applySchedule(existing);
         // 更新标签：先清空旧的关联，再添加新的，避免主键冲突
         existing.getTags().clear();
         if (!updates.getTags().isEmpty()) {
             existing.getTags().addAll(updates.getTags());
         }
-        return articleRepository.save(existing);
+        Article saved = articleRepository.saveAndFlush(existing);
+        revisionService.record(saved, previousContent);
+        publishChange(new ArticleChangedEvent(before, ArticleSnapshot.of(saved)));
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ArticleRevisionDto> getRevisions(String articleId, int page, int size) {
+        return revisionService.listRevisions(articleId, page, size);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<String> getRevisionContent(String articleId, int revision) {
+        return revisionService.getContent(articleId, revision);
+    }
+
+    /**
+     * 发布定时文章，返回是否由本次调用完成发布
+     */
+    @Transactional
+    public boolean publishScheduled(String articleId) {
+        Optional<Article> scheduled = articleRepository.findByArticleId(articleId);
+        if (scheduled.isEmpty() || !Article.STATUS_SCHEDULED.equals(scheduled.get().getStatus())) {
+            return false;
+        }
+        ArticleSnapshot before = ArticleSnapshot.of(scheduled.get());
+        if (articleRepository.publishIfDue(articleId, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        articleRepository.findByArticleId(articleId).ifPresent(published ->
+                publishChange(new ArticleChangedEvent(before, ArticleSnapshot.of(published))));
+        return true;
+    }
+
+    /**
+     * 本实例的监听器通过事件拿到变更前后的快照，其他实例只收到 articleId
+     */
+    private void publishChange(ArticleChangedEvent event) {
+        eventPublisher.publishEvent(event);
+        invalidationBus.publish(InvalidationBus.REGION_ARTICLE, event.getArticleId());
+    }
+
+    /**
+     * 发布时间在未来的文章先进入 scheduled 状态；scheduled 的文章发布时间已过则直接发布
+     */
+    private void applySchedule(Article article) {
+        String status = article.getStatus();
+        if (!Article.STATUS_PUBLISHED.equals(status) && !Article.STATUS_SCHEDULED.equals(status)) {
+            return;
+        }
+        if (article.getPublishedAt() == null) {
+            article.setPublishedAt(LocalDateTime.now());
+        }
+        article.setStatus(article.getPublishedAt().isAfter(LocalDateTime.now())
+                ? Article.STATUS_SCHEDULED
+                : Article.STATUS_PUBLISHED);
     }
 
     /**
      * 获取相关文章推荐
      * 策略：优先按分类推荐，不足时补充标签相关文章
      */
+    @Transactional(readOnly = true)
     public List<Article> getRelatedArticles(String articleId, int limit) {
         Optional<Article> optionalArticle = articleRepository.findByArticleId(articleId);
         if (optionalArticle.isEmpty()) {
@@ -0,0 +1,256 @@
+package com.deepveir.blog.service;
+
+import com.deepveir.blog.entity.AuditLog;
+import com.deepveir.blog.filter.JwtAuthenticationFilter;
+import com.deepveir.blog.repository.AuditLogRepository;
+import com.deepveir.blog.util.MpscRingBuffer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 后台变更审计
+ * 请求线程只计算字段差异并写入无锁环形队列，后台线程按批次 INSERT，不增加写接口的数据库往返。
+ * 队列容量固定，写满时按 blog.audit.overflow 处理：drop 直接丢弃并计数，
+ * wait 最多等待 blog.audit.offer-timeout-ms 后再丢弃。
+ */
+@Service
+public class AuditService {
+
+    public static final String ACTION_CREATE = "create";
+    public static final String ACTION_UPDATE = "update";
+    public static final String ACTION_DELETE = "delete";
+
+    private static final Logger log = LoggerFactory.getLogger(AuditService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs " +
+            "(actor_id, actor_email, action, entity_type, entity_id, changes, create_time) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // 不记录的字段：敏感信息与每次都会变化的时间戳
+    private static final Set<String> IGNORED_FIELDS = Set.of(
+            "password", "tokenVersion", "createTime", "updateTime", "authorities", "children",
+            "accountNonExpired", "accountNonLocked", "credentialsNonExpired");
+    // 关联对象只记录其业务 ID
+    private static final String[] ID_FIELDS = {
+            "roleId", "menuId", "orgId", "categoryId", "tagId", "userId", "articleId", "pageId", "id"};
+    private static final int MAX_VALUE_LENGTH = 500;
+    private static final long WARN_INTERVAL_MS = 60_000;
+
+    private final AuditLogRepository auditLogRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MpscRingBuffer<AuditLog> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final boolean waitOnOverflow;
+    private final long offerTimeoutNanos;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong lastDropWarning = new AtomicLong();
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public AuditService(AuditLogRepository auditLogRepository,
+                        JdbcTemplate jdbcTemplate,
+                        ObjectMapper objectMapper,
+                        @Value("${blog.audit.buffer-size:8192}") int bufferSize,
+                        @Value("${blog.audit.batch-size:200}") int batchSize,
+                        @Value("${blog.audit.flush-interval-ms:500}") long flushIntervalMs,
+                        @Value("${blog.audit.overflow:drop}") String overflow,
+                        @Value("${blog.audit.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.auditLogRepository = auditLogRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper.copy().disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.waitOnOverflow = "wait".equalsIgnoreCase(overflow);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        writer = new Thread(this::writeLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 将实体转换为扁平的字段表，用于之后计算差异；修改实体之前调用
+     */
+    public Map<String, Object> snapshot(Object entity) {
+        if (entity == null) {
+            return Map.of();
+        }
+        Map<String, Object> fields = new LinkedHashMap<>();
+        try {
+            Map<?, ?> raw = objectMapper.convertValue(entity, Map.class);
+            raw.forEach((key, value) -> {
+                String name = String.valueOf(key);
+                if (!IGNORED_FIELDS.contains(name)) {
+                    fields.put(name, simplify(value));
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            log.debug("Failed to snapshot {} for audit", entity.getClass().getSimpleName(), e);
+        }
+        return fields;
+    }
+
+    /**
+     * 记录一次变更，before / after 为 {@link #snapshot} 的结果（新建时 before 为空，删除时 after 为空）
+     */
+    public void record(String action, String entityType, String entityId,
+                       Map<String, Object> before, Map<String, Object> after) {
+        AuditLog entry = new AuditLog();
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getDetails() instanceof JwtAuthenticationFilter.JwtUserDetails details) {
+            entry.setActorId(details.getUserId());
+            entry.setActorEmail(details.getEmail());
+        }
+        entry.setAction(action);
+        entry.setEntityType(entityType);
+        entry.setEntityId(entityId);
+        entry.setChanges(diff(before, after));
+        entry.setCreateTime(LocalDateTime.now());
+        enqueue(entry);
+    }
+
+    public Page<AuditLog> search(String entityType, String entityId, String actorId, Pageable pageable) {
+        return auditLogRepository.search(entityType, entityId, actorId, pageable);
+    }
+
+    /**
+     * 因队列已满被丢弃的记录数
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void enqueue(AuditLog entry) {
+        if (buffer.offer(entry)) {
+            return;
+        }
+        if (waitOnOverflow) {
+            long deadline = System.nanoTime() + offerTimeoutNanos;
+            while (System.nanoTime() < deadline) {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(100_000);
+                if (buffer.offer(entry)) {
+                    return;
+                }
+            }
+        }
+        long total = dropped.incrementAndGet();
+        long now = System.currentTimeMillis();
+        long last = lastDropWarning.get();
+        if (now - last >= WARN_INTERVAL_MS && lastDropWarning.compareAndSet(last, now)) {
+            log.warn("Audit buffer full, {} record(s) dropped so far", total);
+        }
+    }
+
+    private String diff(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object[]> changes = new LinkedHashMap<>();
+        Set<String> fields = new LinkedHashSet<>(before.keySet());
+        fields.addAll(after.keySet());
+        for (String field : fields) {
+            Object oldValue = before.get(field);
+            Object newValue = after.get(field);
+            if (!Objects.equals(oldValue, newValue)) {
+                changes.put(field, new Object[]{oldValue, newValue});
+            }
+        }
+        try {
+            return objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private Object simplify(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            for (String idField : ID_FIELDS) {
+                if (map.get(idField) != null) {
+                    return map.get(idField);
+                }
+            }
+            return null;
+        }
+        if (value instanceof Collection<?> collection) {
+            List<Object> items = new ArrayList<>(collection.size());
+            for (Object item : collection) {
+                items.add(simplify(item));
+            }
+            return items;
+        }
+        if (value instanceof String text && text.length() > MAX_VALUE_LENGTH) {
+            return text.substring(0, MAX_VALUE_LENGTH) + "...(" + text.length() + " chars)";
+        }
+        return value;
+    }
+
+    private void writeLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            buffer.drain(batch::add, batchSize);
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditLog> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                ps.setString(1, entry.getActorId());
+                ps.setString(2, entry.getActorEmail());
+                ps.setString(3, entry.getAction());
+                ps.setString(4, entry.getEntityType());
+                ps.setString(5, entry.getEntityId());
+                ps.setString(6, entry.getChanges());
+                ps.setTimestamp(7, Timestamp.valueOf(entry.getCreateTime()));
+            });
+        } catch (Exception e) {
+            dropped.addAndGet(batch.size());
+            log.error("Failed to write {} audit record(s)", batch.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            // 停机前写完队列中剩余的记录
+            writer.join(5_000);
+        }
+    }
+}
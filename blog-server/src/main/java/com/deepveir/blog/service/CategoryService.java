@@ -1,8 +1,12 @@
 package com.deepveir.blog.service;
 
+import com.deepveir.blog.cache.InvalidationBus;
 import com.deepveir.blog.entity.Category;
+import com.deepveir.blog.event.TaxonomyChangedEvent;
 import com.deepveir.blog.repository.CategoryRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,21 +16,30 @@ import java.util.UUID;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvalidationBus invalidationBus;
+    private final TaxonomyCountService countService;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, ApplicationEventPublisher eventPublisher,
+                           InvalidationBus invalidationBus, TaxonomyCountService countService) {
         this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.invalidationBus = invalidationBus;
+        this.countService = countService;
     }
 
+    @Transactional(readOnly = true)
     public List<Category> getAllCategories() {
-        return categoryRepository.findAllByOrderBySortOrderAsc();
+        return countService.withCategoryCounts(categoryRepository.findAllByOrderBySortOrderAsc());
     }
 
     public Optional<Category> getCategoryById(UUID id) {
-        return categoryRepository.findById(id);
+        return categoryRepository.findById(id).map(this::withCount);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Category> getCategoryByCategoryId(String categoryId) {
-        return categoryRepository.findByCategoryId(categoryId);
+        return categoryRepository.findByCategoryId(categoryId).map(this::withCount);
     }
 
     public Category createCategory(Category category) {
@@ -36,11 +49,14 @@ public class CategoryService {
         if (category.getSortOrder() == null) {
             category.setSortOrder(0);
         }
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        publishChange(saved.getCategoryId());
+        return saved;
     }
 
     public Optional<Category> updateCategory(UUID id, Category categoryDetails) {
         return categoryRepository.findById(id).map(category -> {
+            String previousId = category.getCategoryId();
             if (categoryDetails.getName() != null) {
                 category.setName(categoryDetails.getName());
             }
@@ -53,17 +69,33 @@ public class CategoryService {
             if (categoryDetails.getSortOrder() != null) {
                 category.setSortOrder(categoryDetails.getSortOrder());
             }
-            return categoryRepository.save(category);
+            Category saved = categoryRepository.save(category);
+            if (!saved.getCategoryId().equals(previousId)) {
+                publishChange(previousId);
+            }
+            publishChange(saved.getCategoryId());
+            return saved;
         });
     }
 
     public boolean deleteCategory(UUID id) {
         return categoryRepository.findById(id).map(category -> {
             categoryRepository.delete(category);
+            publishChange(category.getCategoryId());
             return true;
         }).orElse(false);
     }
 
+    private Category withCount(Category category) {
+        category.setArticleCount(countService.getCategoryCount(category.getCategoryId()));
+        return category;
+    }
+
+    private void publishChange(String categoryId) {
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(TaxonomyChangedEvent.Kind.CATEGORY, categoryId));
+        invalidationBus.publish(InvalidationBus.REGION_TAXONOMY, "category:" + categoryId);
+    }
+
     private String generateCategoryId(String name) {
         String base = name.toLowerCase()
                 .replaceAll("[^a-z0-9\\u4e00-\\u9fa5]", "-")
@@ -0,0 +1,264 @@
+package com.deepveir.blog.service;
+
+import com.deepveir.blog.dto.ArticleDraftDto;
+import com.deepveir.blog.repository.ArticleRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 草稿自动保存
+ * 编辑器的自动保存先合并到每篇文章一份的内存缓冲区，后台线程对每篇文章最多每 flush-interval 写一次
+ * article_drafts 表；显式保存时立即写入。不经过 ArticleService：不改写 article_tags、
+ * 不发布文章变更事件，已发布内容的缓存与快照不受影响。
+ *
+ * 写库时按 version 判断新旧，多实例或重试导致的乱序写入不会让旧内容覆盖新内容。
+ * 写库与丢弃草稿在同一个缓冲区的 flushLock 下串行执行，丢弃之后不会再有正在进行的写入把草稿写回。
+ */
+@Service
+public class DraftService {
+
+    private static final Logger log = LoggerFactory.getLogger(DraftService.class);
+
+    private static final String UPSERT_SQL = "INSERT INTO article_drafts " +
+            "(article_id, title, summary, content, cover_image, version, actor_id, update_time) VALUES (?, ?, ?, ?, ?, ?, ?, NOW(6)) " +
+            "ON DUPLICATE KEY UPDATE " +
+            // 只覆盖较新版本中非空的字段；列按顺序赋值，version 必须最后更新
+            "title = IF(VALUES(version) > version, COALESCE(VALUES(title), title), title), " +
+            "summary = IF(VALUES(version) > version, COALESCE(VALUES(summary), summary), summary), " +
+            "content = IF(VALUES(version) > version, COALESCE(VALUES(content), content), content), " +
+            "cover_image = IF(VALUES(version) > version, COALESCE(VALUES(cover_image), cover_image), cover_image), " +
+            "actor_id = IF(VALUES(version) > version, COALESCE(VALUES(actor_id), actor_id), actor_id), " +
+            "update_time = IF(VALUES(version) > version, VALUES(update_time), update_time), " +
+            "version = GREATEST(version, VALUES(version))";
+    // 已写库且长时间没有新编辑的缓冲区被移除
+    private static final long IDLE_EVICT_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final ArticleRepository articleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long flushIntervalNanos;
+    private final Map<UUID, Buffer> buffers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "draft-flush");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public DraftService(ArticleRepository articleRepository,
+                        JdbcTemplate jdbcTemplate,
+                        @Value("${blog.draft.flush-interval-seconds:10}") long flushIntervalSeconds) {
+        this.articleRepository = articleRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushIntervalNanos = TimeUnit.SECONDS.toNanos(flushIntervalSeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flushDue, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 合并一次自动保存；文章不存在时返回 false
+     *
+     * @param flushNow 显式保存，立即写库
+     */
+    public boolean autosave(UUID id, ArticleDraftDto changes, String actorId, boolean flushNow) {
+        while (true) {
+            Buffer buffer = buffers.get(id);
+            if (buffer == null) {
+                Optional<String> articleId = articleRepository.findArticleIdById(id);
+                if (articleId.isEmpty()) {
+                    return false;
+                }
+                // 以已写库的草稿为基础，只提交部分字段的编辑不会丢失其他字段
+                Buffer created = new Buffer(articleId.get(), loadDraft(articleId.get()).orElse(null));
+                buffer = Optional.ofNullable(buffers.putIfAbsent(id, created)).orElse(created);
+            }
+            synchronized (buffer) {
+                if (buffer.evicted) {
+                    // 刚被移除的缓冲区，重新创建
+                    continue;
+                }
+                buffer.merge(changes, actorId);
+            }
+            if (flushNow) {
+                flush(buffer, true);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 最新的草稿：优先取内存中尚未写库的内容
+     */
+    public Optional<ArticleDraftDto> getDraft(UUID id) {
+        Buffer buffer = buffers.get(id);
+        if (buffer != null) {
+            synchronized (buffer) {
+                return Optional.of(buffer.copy());
+            }
+        }
+        return articleRepository.findArticleIdById(id).flatMap(this::loadDraft);
+    }
+
+    /**
+     * 文章正式保存或删除后丢弃草稿
+     */
+    public void discard(UUID id, String articleId) {
+        Buffer buffer = buffers.remove(id);
+        if (buffer == null) {
+            jdbcTemplate.update("DELETE FROM article_drafts WHERE article_id = ?", articleId);
+            return;
+        }
+        // 等待正在进行的写入结束，之后的写入看到 evicted 直接返回
+        synchronized (buffer.flushLock) {
+            synchronized (buffer) {
+                buffer.evicted = true;
+                buffer.dirty = false;
+            }
+            jdbcTemplate.update("DELETE FROM article_drafts WHERE article_id = ?", articleId);
+        }
+    }
+
+    private Optional<ArticleDraftDto> loadDraft(String articleId) {
+        List<ArticleDraftDto> drafts = jdbcTemplate.query(
+                "SELECT title, summary, content, cover_image, version, update_time FROM article_drafts WHERE article_id = ?",
+                (rs, i) -> {
+                    ArticleDraftDto dto = new ArticleDraftDto();
+                    dto.setTitle(rs.getString(1));
+                    dto.setSummary(rs.getString(2));
+                    dto.setContent(rs.getString(3));
+                    dto.setCoverImage(rs.getString(4));
+                    dto.setVersion(rs.getLong(5));
+                    dto.setUpdateTime(rs.getTimestamp(6).toLocalDateTime());
+                    return dto;
+                }, articleId);
+        return drafts.stream().findFirst();
+    }
+
+    private void flushDue() {
+        long now = System.nanoTime();
+        buffers.forEach((id, buffer) -> {
+            boolean due;
+            synchronized (buffer) {
+                due = buffer.dirty && now - buffer.lastFlushNanos >= flushIntervalNanos;
+                if (!buffer.dirty && now - buffer.lastEditNanos >= IDLE_EVICT_NANOS) {
+                    buffer.evicted = true;
+                    buffers.remove(id, buffer);
+                }
+            }
+            if (due) {
+                flush(buffer, false);
+            }
+        });
+    }
+
+    /**
+     * 写库期间持有 flushLock（不持有缓冲区锁，合并编辑不被阻塞）
+     */
+    private void flush(Buffer buffer, boolean rethrow) {
+        synchronized (buffer.flushLock) {
+            ArticleDraftDto draft;
+            String actorId;
+            synchronized (buffer) {
+                if (!buffer.dirty || buffer.evicted) {
+                    return;
+                }
+                draft = buffer.copy();
+                actorId = buffer.actorId;
+                buffer.dirty = false;
+                buffer.lastFlushNanos = System.nanoTime();
+            }
+            try {
+                jdbcTemplate.update(UPSERT_SQL, buffer.articleId, draft.getTitle(), draft.getSummary(), draft.getContent(),
+                        draft.getCoverImage(), draft.getVersion(), actorId);
+            } catch (DataAccessException e) {
+                synchronized (buffer) {
+                    buffer.dirty = true;
+                }
+                if (rethrow) {
+                    throw e;
+                }
+                log.warn("Failed to flush draft of article {}, will retry", buffer.articleId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        // 停机前写完尚未写库的草稿
+        buffers.values().forEach(buffer -> flush(buffer, false));
+    }
+
+    /**
+     * 一篇文章的草稿缓冲区，字段由 synchronized(this) 保护；写库与丢弃由 flushLock 串行化，先取 flushLock 再取缓冲区锁
+     */
+    private static final class Buffer {
+        final String articleId;
+        final Object flushLock = new Object();
+        final ArticleDraftDto draft = new ArticleDraftDto();
+        String actorId;
+        boolean dirty;
+        boolean evicted;
+        // 视为很久之前写过库，第一次编辑在下一轮即写入
+        long lastFlushNanos = System.nanoTime() - Long.MAX_VALUE / 2;
+        long lastEditNanos = System.nanoTime();
+
+        Buffer(String articleId, ArticleDraftDto persisted) {
+            this.articleId = articleId;
+            if (persisted != null) {
+                draft.setTitle(persisted.getTitle());
+                draft.setSummary(persisted.getSummary());
+                draft.setContent(persisted.getContent());
+                draft.setCoverImage(persisted.getCoverImage());
+                draft.setVersion(persisted.getVersion());
+                draft.setUpdateTime(persisted.getUpdateTime());
+            }
+        }
+
+        void merge(ArticleDraftDto changes, String actor) {
+            long version = changes.getVersion() != null ? changes.getVersion() : System.currentTimeMillis();
+            // 同一缓冲区内乱序到达的旧版本直接忽略
+            if (draft.getVersion() != null && version <= draft.getVersion()) {
+                return;
+            }
+            if (changes.getTitle() != null) draft.setTitle(changes.getTitle());
+            if (changes.getSummary() != null) draft.setSummary(changes.getSummary());
+            if (changes.getContent() != null) draft.setContent(changes.getContent());
+            if (changes.getCoverImage() != null) draft.setCoverImage(changes.getCoverImage());
+            draft.setVersion(version);
+            draft.setUpdateTime(LocalDateTime.now());
+            actorId = actor;
+            dirty = true;
+            lastEditNanos = System.nanoTime();
+        }
+
+        ArticleDraftDto copy() {
+            ArticleDraftDto copy = new ArticleDraftDto();
+            copy.setTitle(draft.getTitle());
+            copy.setSummary(draft.getSummary());
+            copy.setContent(draft.getContent());
+            copy.setCoverImage(draft.getCoverImage());
+            copy.setVersion(draft.getVersion());
+            copy.setUpdateTime(draft.getUpdateTime());
+            return copy;
+        }
+    }
+}
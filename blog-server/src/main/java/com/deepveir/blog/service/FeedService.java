@@ -0,0 +1,331 @@
+package com.deepveir.blog.service;
+
+import com.deepveir.blog.cache.CachedBody;
+import com.deepveir.blog.cache.InvalidationBus;
+import com.deepveir.blog.dto.FeedEntryDto;
+import com.deepveir.blog.entity.Category;
+import com.deepveir.blog.event.ArticleChangedEvent;
+import com.deepveir.blog.event.AuthorChangedEvent;
+import com.deepveir.blog.event.PageChangedEvent;
+import com.deepveir.blog.event.TaxonomyChangedEvent;
+import com.deepveir.blog.repository.ArticleRepository;
+import com.deepveir.blog.repository.CategoryRepository;
+import com.deepveir.blog.repository.PageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RSS / Atom / 站点地图生成
+ * 使用 StAX 从投影查询直接写出 XML，结果以预压缩字节缓存，文章发布或更新后失效。
+ * 爬虫与订阅器的反复请求只命中缓存，不会触发重复的全表查询。
+ */
+@Service
+public class FeedService {
+
+    public enum FeedType { RSS, ATOM, SITEMAP }
+
+    private static final String[] LOCALES = {"zh", "en"};
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+    private final ArticleRepository articleRepository;
+    private final CategoryRepository categoryRepository;
+    private final PageRepository pageRepository;
+    private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+
+    private final String siteUrl;
+    private final String siteTitle;
+    private final int feedSize;
+
+    // 每种输出的缓存与版本号；失效时版本号递增，防止并发生成的旧结果覆盖失效
+    private final Map<FeedType, CachedBody> cache = new EnumMap<>(FeedType.class);
+    private final Map<FeedType, Long> versions = new EnumMap<>(FeedType.class);
+    private final Map<FeedType, Object> buildLocks = new EnumMap<>(FeedType.class);
+
+    public FeedService(ArticleRepository articleRepository,
+                       CategoryRepository categoryRepository,
+                       PageRepository pageRepository,
+                       InvalidationBus invalidationBus,
+                       @Value("${blog.site.url:https://www.deepveir.com}") String siteUrl,
+                       @Value("${blog.site.title:DeepVeir Blog}") String siteTitle,
+                       @Value("${blog.feed.size:20}") int feedSize) {
+        this.articleRepository = articleRepository;
+        this.categoryRepository = categoryRepository;
+        this.pageRepository = pageRepository;
+        this.siteUrl = siteUrl.endsWith("/") ? siteUrl.substring(0, siteUrl.length() - 1) : siteUrl;
+        this.siteTitle = siteTitle;
+        this.feedSize = feedSize;
+        for (FeedType type : FeedType.values()) {
+            versions.put(type, 0L);
+            buildLocks.put(type, new Object());
+        }
+        // 其他实例的变更只带 key，无法判断是否影响公开内容，直接让全部输出失效
+        InvalidationBus.InvalidationListener onRemoteChange = (key, remote) -> {
+            if (remote) {
+                invalidate(FeedType.values());
+            }
+        };
+        invalidationBus.subscribe(InvalidationBus.REGION_ARTICLE, onRemoteChange);
+        invalidationBus.subscribe(InvalidationBus.REGION_PAGE, onRemoteChange);
+        invalidationBus.subscribe(InvalidationBus.REGION_TAXONOMY, onRemoteChange);
+        invalidationBus.subscribe(InvalidationBus.REGION_AUTHOR, (userId, remote) -> {
+            if (remote) {
+                invalidate(FeedType.ATOM);
+            }
+        });
+    }
+
+    /**
+     * 获取指定输出，未命中时生成；同一时刻只有一个线程生成同一类型
+     */
+    public CachedBody get(FeedType type) throws XMLStreamException {
+        long version;
+        synchronized (cache) {
+            CachedBody body = cache.get(type);
+            if (body != null) {
+                return body;
+            }
+            version = versions.get(type);
+        }
+        synchronized (lockFor(type)) {
+            synchronized (cache) {
+                CachedBody body = cache.get(type);
+                if (body != null) {
+                    return body;
+                }
+            }
+            CachedBody body = build(type);
+            synchronized (cache) {
+                if (versions.get(type) == version) {
+                    cache.put(type, body);
+                }
+            }
+            return body;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.isPublicChange()) {
+            invalidate(FeedType.RSS, FeedType.ATOM, FeedType.SITEMAP);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPageChanged(PageChangedEvent event) {
+        invalidate(FeedType.SITEMAP);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaxonomyChanged(TaxonomyChangedEvent event) {
+        // 分类名称出现在订阅条目中，分类链接出现在站点地图中
+        invalidate(FeedType.RSS, FeedType.ATOM, FeedType.SITEMAP);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        // 作者名称出现在 Atom 条目中
+        if (!event.articleIds().isEmpty()) {
+            invalidate(FeedType.ATOM);
+        }
+    }
+
+    public void invalidate(FeedType... types) {
+        synchronized (cache) {
+            for (FeedType type : types) {
+                cache.remove(type);
+                versions.merge(type, 1L, Long::sum);
+            }
+        }
+    }
+
+    private Object lockFor(FeedType type) {
+        return buildLocks.get(type);
+    }
+
+    private CachedBody build(FeedType type) throws XMLStreamException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        XMLStreamWriter xml = xmlOutputFactory.createXMLStreamWriter(out, "UTF-8");
+        xml.writeStartDocument("UTF-8", "1.0");
+        switch (type) {
+            case RSS -> writeRss(xml);
+            case ATOM -> writeAtom(xml);
+            case SITEMAP -> writeSitemap(xml);
+        }
+        xml.writeEndDocument();
+        xml.close();
+        String contentType = switch (type) {
+            case RSS -> "application/rss+xml;charset=UTF-8";
+            case ATOM -> "application/atom+xml;charset=UTF-8";
+            case SITEMAP -> "application/xml;charset=UTF-8";
+        };
+        return new CachedBody(out.toByteArray(), contentType);
+    }
+
+    private void writeRss(XMLStreamWriter xml) throws XMLStreamException {
+        List<FeedEntryDto> entries = loadFeedEntries();
+        xml.writeStartElement("rss");
+        xml.writeAttribute("version", "2.0");
+        xml.writeNamespace("atom", ATOM_NS);
+        xml.writeStartElement("channel");
+        element(xml, "title", siteTitle);
+        element(xml, "link", siteUrl + "/zh");
+        element(xml, "description", siteTitle);
+        element(xml, "language", "zh-CN");
+        xml.writeEmptyElement("atom", "link", ATOM_NS);
+        xml.writeAttribute("href", siteUrl + "/feed.xml");
+        xml.writeAttribute("rel", "self");
+        xml.writeAttribute("type", "application/rss+xml");
+        if (!entries.isEmpty()) {
+            element(xml, "lastBuildDate", rfc1123(latest(entries)));
+        }
+        for (FeedEntryDto entry : entries) {
+            String link = articleUrl("zh", entry.getArticleId());
+            xml.writeStartElement("item");
+            element(xml, "title", entry.getTitle());
+            element(xml, "link", link);
+            xml.writeStartElement("guid");
+            xml.writeAttribute("isPermaLink", "true");
+            xml.writeCharacters(link);
+            xml.writeEndElement();
+            if (entry.getPublishedAt() != null) {
+                element(xml, "pubDate", rfc1123(entry.getPublishedAt()));
+            }
+            if (entry.getCategoryName() != null) {
+                element(xml, "category", entry.getCategoryName());
+            }
+            if (entry.getExcerpt() != null) {
+                element(xml, "description", entry.getExcerpt());
+            }
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    private void writeAtom(XMLStreamWriter xml) throws XMLStreamException {
+        List<FeedEntryDto> entries = loadFeedEntries();
+        xml.setDefaultNamespace(ATOM_NS);
+        xml.writeStartElement(ATOM_NS, "feed");
+        xml.writeDefaultNamespace(ATOM_NS);
+        element(xml, "title", siteTitle);
+        element(xml, "id", siteUrl + "/");
+        xml.writeEmptyElement("link");
+        xml.writeAttribute("href", siteUrl + "/zh");
+        xml.writeEmptyElement("link");
+        xml.writeAttribute("href", siteUrl + "/atom.xml");
+        xml.writeAttribute("rel", "self");
+        element(xml, "updated", rfc3339(entries.isEmpty() ? LocalDateTime.now() : latest(entries)));
+        for (FeedEntryDto entry : entries) {
+            String link = articleUrl("zh", entry.getArticleId());
+            xml.writeStartElement("entry");
+            element(xml, "title", entry.getTitle());
+            element(xml, "id", link);
+            xml.writeEmptyElement("link");
+            xml.writeAttribute("href", link);
+            LocalDateTime updated = entry.getUpdateTime() != null ? entry.getUpdateTime() : entry.getPublishedAt();
+            if (updated != null) {
+                element(xml, "updated", rfc3339(updated));
+            }
+            if (entry.getPublishedAt() != null) {
+                element(xml, "published", rfc3339(entry.getPublishedAt()));
+            }
+            if (entry.getAuthorName() != null) {
+                xml.writeStartElement("author");
+                element(xml, "name", entry.getAuthorName());
+                xml.writeEndElement();
+            }
+            if (entry.getCategoryName() != null) {
+                xml.writeEmptyElement("category");
+                xml.writeAttribute("term", entry.getCategoryName());
+            }
+            if (entry.getExcerpt() != null) {
+                element(xml, "summary", entry.getExcerpt());
+            }
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+    }
+
+    private void writeSitemap(XMLStreamWriter xml) throws XMLStreamException {
+        xml.setDefaultNamespace(SITEMAP_NS);
+        xml.writeStartElement(SITEMAP_NS, "urlset");
+        xml.writeDefaultNamespace(SITEMAP_NS);
+        for (String locale : LOCALES) {
+            url(xml, siteUrl + "/" + locale, null, "daily", "1.0");
+        }
+        for (Object[] page : pageRepository.findPublishedSitemapEntries()) {
+            for (String locale : LOCALES) {
+                url(xml, siteUrl + "/" + locale + "/" + page[0], (LocalDateTime) page[1], "monthly", "0.5");
+            }
+        }
+        for (Object[] article : articleRepository.findPublishedSitemapEntries()) {
+            for (String locale : LOCALES) {
+                url(xml, articleUrl(locale, (String) article[0]), (LocalDateTime) article[1], "weekly", "0.8");
+            }
+        }
+        for (Category category : categoryRepository.findAllByOrderBySortOrderAsc()) {
+            for (String locale : LOCALES) {
+                url(xml, siteUrl + "/" + locale + "/categories/" + category.getCategoryId(),
+                        category.getUpdateTime(), "weekly", "0.6");
+            }
+        }
+        xml.writeEndElement();
+    }
+
+    private List<FeedEntryDto> loadFeedEntries() {
+        return articleRepository.findFeedEntries(PageRequest.of(0, feedSize));
+    }
+
+    private void url(XMLStreamWriter xml, String loc, LocalDateTime lastModified,
+                     String changeFrequency, String priority) throws XMLStreamException {
+        xml.writeStartElement("url");
+        element(xml, "loc", loc);
+        if (lastModified != null) {
+            element(xml, "lastmod", rfc3339(lastModified));
+        }
+        element(xml, "changefreq", changeFrequency);
+        element(xml, "priority", priority);
+        xml.writeEndElement();
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text != null ? text : "");
+        xml.writeEndElement();
+    }
+
+    private String articleUrl(String locale, String articleId) {
+        return siteUrl + "/" + locale + "/article/" + articleId;
+    }
+
+    private static LocalDateTime latest(List<FeedEntryDto> entries) {
+        return entries.stream()
+                .map(e -> e.getUpdateTime() != null ? e.getUpdateTime() : e.getPublishedAt())
+                .filter(t -> t != null)
+                .max(LocalDateTime::compareTo)
+                .orElse(LocalDateTime.now());
+    }
+
+    private static String rfc1123(LocalDateTime time) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.of(time, ZoneId.systemDefault()));
+    }
+
+    private static String rfc3339(LocalDateTime time) {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(ZonedDateTime.of(time, ZoneId.systemDefault()));
+    }
+}
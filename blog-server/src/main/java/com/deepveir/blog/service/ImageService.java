@@ -0,0 +1,346 @@
+package com.deepveir.blog.service;
+
+import com.deepveir.blog.event.MediaDeletedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 图片上传与响应式尺寸生成
+ * 原图保存在 {@link MediaService} 中（按内容哈希去重、按引用计数回收）；
+ * 各宽度的缩略图在有界线程池中异步生成，保存在 {dir}/variants，文件名为 {hash}-{width}.{jpg|webp}，
+ * 原图被回收时一并删除。文件名由内容决定、内容不会再变化，因此可以设置永久缓存。
+ *
+ * 缩略图尚未生成（或线程池已满被拒绝）时读取会回退到原图，并重新提交生成任务。
+ * JDK 的 ImageIO 不带 WebP 编码器，classpath 中存在 WebP 的 ImageIO 插件时才会额外生成 .webp。
+ */
+@Service
+public class ImageService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageService.class);
+
+    private static final Map<String, String> FORMAT_CONTENT_TYPES = Map.of(
+            "jpeg", "image/jpeg", "png", "image/png", "gif", "image/gif", "webp", "image/webp");
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg", "png", "image/png", "gif", "image/gif", "webp", "image/webp");
+    private static final Pattern FILE_NAME = Pattern.compile("([0-9a-f]{64})(?:-(\\d{1,5}))?\\.(jpg|png|gif|webp)");
+
+    private final MediaService mediaService;
+    private final Path variants;
+    private final List<Integer> widths;
+    private final float jpegQuality;
+    private final long maxPixels;
+    private final boolean webpSupported;
+    private final ThreadPoolExecutor executor;
+    // 正在生成缩略图的原图，避免重复提交
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public ImageService(MediaService mediaService,
+                        @Value("${blog.media.dir:./media}") String dir,
+                        @Value("${blog.image.widths:320,640,1024,1600}") List<Integer> widths,
+                        @Value("${blog.image.jpeg-quality:0.82}") float jpegQuality,
+                        @Value("${blog.image.max-pixels:40000000}") long maxPixels,
+                        @Value("${blog.image.workers:2}") int workers,
+                        @Value("${blog.image.queue-capacity:100}") int queueCapacity) throws IOException {
+        this.mediaService = mediaService;
+        Path root = Paths.get(dir).toAbsolutePath();
+        this.variants = Files.createDirectories(root.resolve("variants"));
+        this.widths = widths.stream().filter(w -> w > 0).distinct().sorted().toList();
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+        this.webpSupported = ImageIO.getImageWritersByFormatName("webp").hasNext();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread t = new Thread(r, "image-resize-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            // 缩放是纯 CPU 任务，让出时间片给请求线程
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        if (!webpSupported) {
+            log.info("No WebP ImageIO writer found, image variants are generated as JPEG only");
+        }
+    }
+
+    /**
+     * 保存上传的图片并提交缩略图生成任务，返回原图与各尺寸的文件名
+     */
+    public StoredImage store(byte[] content) throws IOException {
+        String format = detectFormat(content);
+        MediaService.MediaObject stored = mediaService.store(new ByteArrayInputStream(content), FORMAT_CONTENT_TYPES.get(format));
+        requestVariants(stored.hash());
+        return new StoredImage(stored.hash(), stored.fileName(), variantNames(stored.hash()));
+    }
+
+    /**
+     * 按文件名查找可直接返回的文件；缩略图还未生成时返回原图，immutable=false 表示不能长期缓存
+     */
+    public Optional<ImageFile> resolve(String fileName) {
+        Matcher m = FILE_NAME.matcher(fileName);
+        if (!m.matches()) {
+            return Optional.empty();
+        }
+        if (m.group(2) == null) {
+            Path original = mediaService.path(m.group(1));
+            return Files.isRegularFile(original)
+                    ? Optional.of(new ImageFile(original, CONTENT_TYPES.get(m.group(3)), true))
+                    : Optional.empty();
+        }
+        if (!widths.contains(Integer.parseInt(m.group(2)))) {
+            return Optional.empty();
+        }
+        Path variant = variants.resolve(fileName);
+        if (Files.isRegularFile(variant)) {
+            return Optional.of(new ImageFile(variant, CONTENT_TYPES.get(m.group(3)), true));
+        }
+        String hash = m.group(1);
+        return mediaService.find(hash)
+                .filter(original -> original.contentType().startsWith("image/"))
+                .filter(original -> Files.isRegularFile(mediaService.path(hash)))
+                .map(original -> {
+                    requestVariants(hash);
+                    return new ImageFile(mediaService.path(hash), original.contentType(), false);
+                });
+    }
+
+    /**
+     * 原图被回收后删除它的所有缩略图
+     */
+    @EventListener
+    public void onMediaDeleted(MediaDeletedEvent event) {
+        for (int width : widths) {
+            for (String ext : new String[]{"jpg", "webp"}) {
+                try {
+                    Files.deleteIfExists(variants.resolve(event.hash() + "-" + width + "." + ext));
+                } catch (IOException e) {
+                    log.warn("Failed to delete image variant {}-{}.{}", event.hash(), width, ext, e);
+                }
+            }
+        }
+    }
+
+    private void requestVariants(String hash) {
+        if (!pending.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generateVariants(hash);
+                } catch (Exception e) {
+                    log.error("Failed to generate variants for {}", hash, e);
+                } finally {
+                    pending.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(hash);
+            log.warn("Image resize queue full, variants for {} deferred", hash);
+        }
+    }
+
+    private void generateVariants(String hash) throws IOException {
+        BufferedImage source = readOriginal(hash);
+        if (source == null) {
+            return;
+        }
+        for (int width : widths) {
+            // 不放大：超过原图宽度的尺寸直接使用原图宽度
+            int targetWidth = Math.min(width, source.getWidth());
+            BufferedImage scaled = null;
+            Path jpeg = variants.resolve(hash + "-" + width + ".jpg");
+            if (!Files.exists(jpeg)) {
+                scaled = scale(source, targetWidth);
+                replace(jpeg, encode(scaled, "jpeg"));
+            }
+            Path webp = variants.resolve(hash + "-" + width + ".webp");
+            if (webpSupported && !Files.exists(webp)) {
+                replace(webp, encode(scaled != null ? scaled : scale(source, targetWidth), "webp"));
+            }
+        }
+        log.debug("Generated {} variant width(s) for {}", widths.size(), hash);
+    }
+
+    /**
+     * 解码原图；先读取文件头检查尺寸，像素数超过上限时不解码，返回 null
+     * 通过媒体接口上传的图片没有经过 {@link #detectFormat} 的检查，缩略图生成前需要再拦截一次
+     */
+    private BufferedImage readOriginal(String hash) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(mediaService.path(hash).toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                log.warn("Unreadable image {}", hash);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("Image {} too large for variants: {}x{}", hash, reader.getWidth(0), reader.getHeight(0));
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 逐级减半缩放到目标宽度，比一次性双线性缩放更少锯齿；输出不带透明通道，透明区域填充白色
+     */
+    private BufferedImage scale(BufferedImage source, int targetWidth) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width > targetWidth);
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No ImageIO writer for " + format);
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(jpegQuality);
+            }
+            if (param.canWriteProgressive()) {
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 只读取文件头判断格式与尺寸，拒绝不支持的格式和像素数过大的图片（解码前拦截，避免内存耗尽）
+     */
+    private String detectFormat(byte[] content) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                String format = reader.getFormatName().toLowerCase();
+                if (!FORMAT_CONTENT_TYPES.containsKey(format)) {
+                    throw new IllegalArgumentException("Unsupported image format: " + format);
+                }
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IllegalArgumentException("Image too large: " + reader.getWidth(0) + "x" + reader.getHeight(0));
+                }
+                return format;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private Map<Integer, String> variantNames(String hash) {
+        Map<Integer, String> names = new LinkedHashMap<>();
+        for (int width : widths) {
+            names.put(width, hash + "-" + width + ".jpg");
+        }
+        return names;
+    }
+
+    private static void replace(Path target, byte[] content) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), ".image-", ".tmp");
+        try {
+            Files.write(tmp, content);
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 上传结果：原图文件名与各宽度缩略图的文件名
+     */
+    public record StoredImage(String hash, String original, Map<Integer, String> variants) {
+    }
+
+    /**
+     * 可直接返回的图片文件，immutable=false 表示是缩略图未生成时的临时回退
+     */
+    public record ImageFile(Path path, String contentType, boolean immutable) {
+    }
+}
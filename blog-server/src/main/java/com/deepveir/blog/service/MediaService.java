@@ -0,0 +1,300 @@
+package com.deepveir.blog.service;
+
+import com.deepveir.blog.event.ArticleChangedEvent;
+import com.deepveir.blog.event.ArticleSnapshot;
+import com.deepveir.blog.event.MediaDeletedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 本地媒体存储
+ * 文件按 SHA-256 内容寻址保存在 {dir}/objects/{前两位}/{hash}，相同内容只保存一份；
+ * media_objects 表记录内容类型、大小与引用计数（被多少篇文章 / 多少个用户引用）。
+ *
+ * 引用计数随文章变更在同一事务中增减。引用数降为 0 的文件在 release-grace 之后回收，
+ * 上传后一直未被引用的文件在 orphan-grace 之后回收。回收前会再到引用来源中检查一次，
+ * 计数出现偏差时以实际引用为准修正，不会误删仍在使用的文件。
+ */
+@Service
+public class MediaService {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaService.class);
+
+    /** 允许上传的类型与对应的扩展名 */
+    public static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp",
+            "application/pdf", "pdf",
+            "video/mp4", "mp4",
+            "audio/mpeg", "mp3");
+
+    private static final String UPSERT_SQL = "INSERT INTO media_objects (hash, content_type, size, ref_count, create_time) " +
+            "VALUES (?, ?, ?, 0, NOW(6)) ON DUPLICATE KEY UPDATE " +
+            // 已无引用的文件被重新上传时，重新计算未引用的宽限期
+            "create_time = IF(ref_count <= 0, NOW(6), create_time), release_time = IF(ref_count <= 0, NULL, release_time)";
+    private static final String ACQUIRE_SQL =
+            "UPDATE media_objects SET ref_count = ref_count + 1, release_time = NULL WHERE hash = ?";
+    // MySQL 按顺序执行 SET，release_time 需要在 ref_count 变化之前判断
+    private static final String RELEASE_SQL = "UPDATE media_objects SET " +
+            "release_time = IF(ref_count <= 1, NOW(6), release_time), ref_count = GREATEST(ref_count - 1, 0) WHERE hash = ?";
+    private static final String CANDIDATES_SQL = "SELECT hash FROM media_objects WHERE ref_count <= 0 AND (" +
+            "(release_time IS NULL AND create_time < NOW(6) - INTERVAL ? SECOND) OR " +
+            "(release_time IS NOT NULL AND release_time < NOW(6) - INTERVAL ? SECOND)) LIMIT ?";
+    // 回收前的兜底检查：所有可能引用媒体文件的列，参数为 %hash%
+    private static final List<String> REFERENCE_SQL = List.of(
+            "SELECT COUNT(*) FROM articles WHERE CONCAT_WS(' ', cover_image, content) LIKE ?",
+            "SELECT COUNT(*) FROM users WHERE avatar LIKE ?",
+            "SELECT COUNT(*) FROM pages WHERE CONCAT_WS(' ', content, content_en) LIKE ?",
+            "SELECT COUNT(*) FROM article_drafts WHERE CONCAT_WS(' ', cover_image, content) LIKE ?");
+    private static final int GC_BATCH = 500;
+    private static final int LOCK_STRIPES = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path objects;
+    private final Path incoming;
+    private final long orphanGraceSeconds;
+    private final long releaseGraceSeconds;
+    private final long gcIntervalMinutes;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final ScheduledExecutorService gcExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "media-gc");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean gcScheduled = new AtomicBoolean();
+
+    public MediaService(JdbcTemplate jdbcTemplate,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${blog.media.dir:./media}") String dir,
+                        @Value("${blog.media.orphan-grace-hours:24}") long orphanGraceHours,
+                        @Value("${blog.media.release-grace-minutes:5}") long releaseGraceMinutes,
+                        @Value("${blog.media.gc-interval-minutes:60}") long gcIntervalMinutes) throws IOException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        Path root = Paths.get(dir).toAbsolutePath();
+        this.objects = Files.createDirectories(root.resolve("objects"));
+        this.incoming = Files.createDirectories(root.resolve("incoming"));
+        this.orphanGraceSeconds = TimeUnit.HOURS.toSeconds(orphanGraceHours);
+        this.releaseGraceSeconds = TimeUnit.MINUTES.toSeconds(releaseGraceMinutes);
+        this.gcIntervalMinutes = gcIntervalMinutes;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startGc() {
+        if (gcIntervalMinutes > 0) {
+            gcExecutor.scheduleWithFixedDelay(this::collectGarbageSafely, gcIntervalMinutes, gcIntervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * 保存上传内容，边写临时文件边计算哈希，不把整个文件读入内存；内容已存在时只更新记录
+     */
+    public MediaObject store(InputStream content, String contentType) throws IOException {
+        if (contentType == null || !EXTENSIONS.containsKey(contentType)) {
+            throw new IllegalArgumentException("Unsupported media type: " + contentType);
+        }
+        Path tmp = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                size = Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            synchronized (lockFor(hash)) {
+                Path target = path(hash);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    try {
+                        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(tmp, target);
+                    }
+                }
+                jdbcTemplate.update(UPSERT_SQL, hash, contentType, size);
+            }
+            return new MediaObject(hash, contentType, size);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public Optional<MediaObject> find(String hash) {
+        List<MediaObject> found = jdbcTemplate.query(
+                "SELECT hash, content_type, size FROM media_objects WHERE hash = ?",
+                (rs, i) -> new MediaObject(rs.getString(1), rs.getString(2), rs.getLong(3)), hash);
+        return found.stream().findFirst();
+    }
+
+    /**
+     * 文件在磁盘上的位置（不检查是否存在）
+     */
+    public Path path(String hash) {
+        return objects.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * 与文章的写操作在同一事务中更新引用计数；没有事务时（如定时发布）直接执行
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        updateReferences(hashes(event.getBefore()), hashes(event.getAfter()));
+    }
+
+    /**
+     * 按引用集合的变化增减计数；有引用被移除时安排一次回收
+     */
+    public void updateReferences(Set<String> before, Set<String> after) {
+        Set<String> added = new HashSet<>(after);
+        added.removeAll(before);
+        Set<String> removed = new HashSet<>(before);
+        removed.removeAll(after);
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        try {
+            // 计数失败不影响业务写入，偏差由回收前的检查修正
+            if (!added.isEmpty()) {
+                jdbcTemplate.batchUpdate(ACQUIRE_SQL, added.stream().map(h -> new Object[]{h}).toList());
+            }
+            if (!removed.isEmpty()) {
+                jdbcTemplate.batchUpdate(RELEASE_SQL, removed.stream().map(h -> new Object[]{h}).toList());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to update media reference counts", e);
+        }
+        if (!removed.isEmpty()) {
+            scheduleGc();
+        }
+    }
+
+    /**
+     * 回收不再被引用的文件，返回删除的数量
+     */
+    public int collectGarbage() {
+        List<String> candidates = jdbcTemplate.queryForList(CANDIDATES_SQL, String.class,
+                orphanGraceSeconds, releaseGraceSeconds, GC_BATCH);
+        int deleted = 0;
+        for (String hash : candidates) {
+            long references = countReferences(hash);
+            if (references > 0) {
+                log.info("Media {} is still referenced {} time(s), correcting its reference count", hash, references);
+                jdbcTemplate.update("UPDATE media_objects SET ref_count = ?, release_time = NULL WHERE hash = ?", references, hash);
+                continue;
+            }
+            synchronized (lockFor(hash)) {
+                if (jdbcTemplate.update("DELETE FROM media_objects WHERE hash = ? AND ref_count <= 0", hash) == 0) {
+                    continue;
+                }
+                try {
+                    Files.deleteIfExists(path(hash));
+                } catch (IOException e) {
+                    log.warn("Failed to delete media file {}", hash, e);
+                }
+            }
+            eventPublisher.publishEvent(new MediaDeletedEvent(hash));
+            deleted++;
+        }
+        if (deleted > 0) {
+            log.info("Media GC removed {} unreferenced file(s)", deleted);
+        }
+        return deleted;
+    }
+
+    private long countReferences(String hash) {
+        String pattern = "%" + hash + "%";
+        long total = 0;
+        for (String sql : REFERENCE_SQL) {
+            Long count = jdbcTemplate.queryForObject(sql, Long.class, pattern);
+            total += count != null ? count : 0;
+        }
+        return total;
+    }
+
+    private void scheduleGc() {
+        // 多次变更合并为一次回收，在引用释放的宽限期结束后执行
+        if (gcScheduled.compareAndSet(false, true)) {
+            gcExecutor.schedule(() -> {
+                gcScheduled.set(false);
+                collectGarbageSafely();
+            }, releaseGraceSeconds + 5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void collectGarbageSafely() {
+        try {
+            collectGarbage();
+        } catch (Exception e) {
+            log.error("Media GC failed", e);
+        }
+    }
+
+    private Object lockFor(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static Set<String> hashes(ArticleSnapshot snapshot) {
+        return snapshot != null ? snapshot.mediaHashes() : Set.of();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        gcExecutor.shutdownNow();
+    }
+
+    /**
+     * 一个已保存的媒体文件
+     */
+    public record MediaObject(String hash, String contentType, long size) {
+
+        public String fileName() {
+            return hash + "." + EXTENSIONS.getOrDefault(contentType, "bin");
+        }
+    }
+}
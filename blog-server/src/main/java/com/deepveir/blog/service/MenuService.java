@@ -4,11 +4,14 @@ import com.deepveir.blog.entity.Menu;
 import com.deepveir.blog.entity.User;
 import com.deepveir.blog.repository.MenuRepository;
 import com.deepveir.blog.repository.UserRepository;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
+// 只有后台接口与启动预热会用到，不参与启动时的上下文初始化
+@Lazy
 @Service
 public class MenuService {
 
@@ -55,6 +58,10 @@ public class MenuService {
         return menuRepository.findAllByOrderBySortOrder();
     }
 
+    public Optional<Menu> getMenuById(UUID id) {
+        return menuRepository.findById(id);
+    }
+
     public Menu createMenu(Menu menu) {
         if (menu.getMenuId() == null || menu.getMenuId().isEmpty()) {
             String generatedId = generateMenuId(menu.getName());
@@ -0,0 +1,202 @@
+package com.deepveir.blog.service;
+
+import com.deepveir.blog.dto.ArticleRevisionDto;
+import com.deepveir.blog.entity.Article;
+import com.deepveir.blog.filter.JwtAuthenticationFilter;
+import com.deepveir.blog.util.LineDelta;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 文章历史版本
+ * 每次保存记录一个版本，正文以相对上一版本的按行差异（{@link LineDelta}）压缩保存，
+ * 每隔 snapshot-interval 个版本、差异过大或上一版本对不上时改存全文快照。
+ * 读取任一版本时从它所属的全文快照开始依次应用差异，最多读取 snapshot-interval 行记录，
+ * 内存中只保留当前重建出的一个版本。
+ */
+@Service
+public class RevisionService {
+
+    public static final String KIND_FULL = "full";
+    public static final String KIND_DELTA = "delta";
+    // 压缩后的差异小于原始正文长度的 1/DELTA_MAX_RATIO 时才存差异
+    private static final int DELTA_MAX_RATIO = 8;
+
+    // 锁定文章行，同一篇文章的并发保存在这里排队
+    private static final String LOCK_ARTICLE_SQL = "SELECT id FROM articles WHERE article_id = ? FOR UPDATE";
+    // 加锁读取读到最新已提交的版本，而不是事务快照（REPEATABLE READ 下普通 SELECT 读的是事务第一次读取时的快照）
+    private static final String LATEST_SQL = "SELECT revision, base_revision, content_hash, title " +
+            "FROM article_revisions WHERE article_id = ? ORDER BY revision DESC LIMIT 1 FOR UPDATE";
+    private static final String INSERT_SQL = "INSERT INTO article_revisions " +
+            "(article_id, revision, base_revision, kind, title, content_length, content_hash, data, actor_id, create_time) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(6))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int snapshotInterval;
+    private final int maxEdits;
+
+    public RevisionService(JdbcTemplate jdbcTemplate,
+                           @Value("${blog.revision.snapshot-interval:20}") int snapshotInterval,
+                           @Value("${blog.revision.max-edits:2000}") int maxEdits) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+        this.maxEdits = maxEdits;
+    }
+
+    /**
+     * 在文章写操作的事务中记录一个版本；标题与正文都没有变化时不记录
+     * 先锁定文章行再加锁读取最新版本，同一篇文章的并发保存依次分配版本号，后提交的保存生效。
+     * 排队等待的保存读到的 previousContent 已不是最新版本的正文，哈希对不上，会改存全文快照。
+     *
+     * @param previousContent 修改前的正文，新建文章时为 null
+     */
+    public void record(Article article, String previousContent) {
+        jdbcTemplate.queryForList(LOCK_ARTICLE_SQL, article.getArticleId());
+        insert(article, previousContent);
+    }
+
+    public List<ArticleRevisionDto> listRevisions(String articleId, int page, int size) {
+        return jdbcTemplate.query(
+                "SELECT revision, title, kind, content_length, actor_id, create_time FROM article_revisions " +
+                        "WHERE article_id = ? ORDER BY revision DESC LIMIT ? OFFSET ?",
+                (rs, i) -> new ArticleRevisionDto(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getInt(4),
+                        rs.getString(5), rs.getTimestamp(6).toLocalDateTime()),
+                articleId, size, (long) page * size);
+    }
+
+    /**
+     * 重建指定版本的正文
+     */
+    public Optional<String> getContent(String articleId, int revision) {
+        List<Integer> base = jdbcTemplate.queryForList(
+                "SELECT base_revision FROM article_revisions WHERE article_id = ? AND revision = ?",
+                Integer.class, articleId, revision);
+        if (base.isEmpty()) {
+            return Optional.empty();
+        }
+        List<List<String>> current = new ArrayList<>(1);
+        current.add(List.of());
+        jdbcTemplate.query(
+                "SELECT kind, data FROM article_revisions WHERE article_id = ? AND revision BETWEEN ? AND ? ORDER BY revision",
+                rs -> {
+                    current.set(0, applyRow(rs, current.get(0)));
+                },
+                articleId, base.get(0), revision);
+        return Optional.of(LineDelta.join(current.get(0)));
+    }
+
+    public void deleteRevisions(String articleId) {
+        jdbcTemplate.update("DELETE FROM article_revisions WHERE article_id = ?", articleId);
+    }
+
+    private void insert(Article article, String previousContent) {
+        String content = article.getContent() != null ? article.getContent() : "";
+        String hash = sha256(content);
+        List<Latest> latest = jdbcTemplate.query(LATEST_SQL,
+                (rs, i) -> new Latest(rs.getInt(1), rs.getInt(2), rs.getString(3), rs.getString(4)),
+                article.getArticleId());
+        Latest previous = latest.isEmpty() ? null : latest.get(0);
+        if (previous != null && previous.contentHash().equals(hash) && Objects.equals(previous.title(), article.getTitle())) {
+            return;
+        }
+
+        int revision = previous == null ? 1 : previous.revision() + 1;
+        byte[] full = content.getBytes(StandardCharsets.UTF_8);
+        String kind = KIND_FULL;
+        int baseRevision = revision;
+        byte[] data = null;
+        // 只有确认 previousContent 就是上一版本的正文时才能存差异
+        if (previous != null && previousContent != null
+                && revision - previous.baseRevision() < snapshotInterval
+                && previous.contentHash().equals(sha256(previousContent))) {
+            byte[] delta = LineDelta.encode(LineDelta.split(previousContent), LineDelta.split(content), maxEdits);
+            if (delta != null) {
+                byte[] compressedDelta = deflate(delta);
+                // 与原始长度比较，不为比较再压缩一次全文；正文压缩后通常约为原来的 1/3，
+                // 1/8 的原始长度约为压缩后全文的 40%
+                if (compressedDelta.length < full.length / DELTA_MAX_RATIO) {
+                    kind = KIND_DELTA;
+                    baseRevision = previous.baseRevision();
+                    data = compressedDelta;
+                }
+            }
+        }
+        if (data == null) {
+            data = deflate(full);
+        }
+        jdbcTemplate.update(INSERT_SQL, article.getArticleId(), revision, baseRevision, kind, article.getTitle(),
+                content.length(), hash, data, currentActorId());
+    }
+
+    private static List<String> applyRow(ResultSet rs, List<String> current) throws SQLException {
+        String kind = rs.getString(1);
+        try (InputStream in = new InflaterInputStream(rs.getBinaryStream(2))) {
+            if (KIND_FULL.equals(kind)) {
+                return LineDelta.split(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            return LineDelta.apply(current, new DataInputStream(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt revision data", e);
+        }
+    }
+
+    /**
+     * DeflaterOutputStream 不会释放外部传入的 Deflater，需要自行 end()，否则本地内存要等到 GC 清理时才回收
+     */
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 3));
+            try (DeflaterOutputStream stream = new DeflaterOutputStream(out, deflater)) {
+                stream.write(data);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String sha256(String content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String currentActorId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getDetails() instanceof JwtAuthenticationFilter.JwtUserDetails details) {
+            return details.getUserId();
+        }
+        return null;
+    }
+
+    private record Latest(int revision, int baseRevision, String contentHash, String title) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.deepveir.blog.service;
+
+import com.deepveir.blog.cache.InvalidationBus;
+import com.deepveir.blog.entity.Article;
+import com.deepveir.blog.event.ArticleChangedEvent;
+import com.deepveir.blog.event.ArticleSnapshot;
+import com.deepveir.blog.repository.ArticleRepository;
+import com.deepveir.blog.util.HierarchicalTimerWheel;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 定时发布
+ * 启动时从数据库加载所有 scheduled 文章放入内存时间轮，之后只根据文章变更事件增减任务，
+ * 不会轮询数据库。到达 publishedAt 时把文章切换为 published，并发布变更事件使各级缓存失效。
+ * 其他实例修改的文章通过失效总线得知，重新读取其状态后调度或取消。
+ */
+@Service
+public class ScheduledPublishService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledPublishService.class);
+    // 发布失败（例如数据库暂时不可用）后的重试间隔
+    private static final long RETRY_DELAY_MS = 30_000;
+
+    private final ArticleService articleService;
+    private final ArticleRepository articleRepository;
+    private final long tickMs;
+    // 1 秒一格，64 格一层，4 层覆盖约 194 天，更远的任务进入溢出表
+    private final HierarchicalTimerWheel<String> wheel;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "scheduled-publish");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ScheduledPublishService(ArticleService articleService,
+                                   ArticleRepository articleRepository,
+                                   InvalidationBus invalidationBus,
+                                   @Value("${blog.schedule.tick-ms:1000}") long tickMs) {
+        this.articleService = articleService;
+        this.articleRepository = articleRepository;
+        this.tickMs = tickMs;
+        this.wheel = new HierarchicalTimerWheel<>(tickMs, 6, 4, System.currentTimeMillis());
+        invalidationBus.subscribe(InvalidationBus.REGION_ARTICLE, (articleId, remote) -> {
+            if (remote) {
+                reload(articleId);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<Object[]> pending = articleRepository.findScheduledEntries();
+        for (Object[] entry : pending) {
+            schedule((String) entry[0], (LocalDateTime) entry[1]);
+        }
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("Scheduled publishing started with {} pending article(s)", pending.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        ArticleSnapshot after = event.getAfter();
+        if (after != null && Article.STATUS_SCHEDULED.equals(after.status())) {
+            schedule(after.articleId(), after.publishedAt());
+        } else {
+            wheel.cancel(event.getArticleId());
+        }
+    }
+
+    private void reload(String articleId) {
+        articleRepository.findByArticleId(articleId)
+                .filter(article -> Article.STATUS_SCHEDULED.equals(article.getStatus()))
+                .ifPresentOrElse(
+                        article -> schedule(articleId, article.getPublishedAt()),
+                        () -> wheel.cancel(articleId));
+    }
+
+    public int pendingCount() {
+        return wheel.size();
+    }
+
+    private void schedule(String articleId, LocalDateTime publishedAt) {
+        long deadline = publishedAt != null
+                ? publishedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+        wheel.schedule(articleId, deadline);
+    }
+
+    private void tick() {
+        for (String articleId : wheel.advance(System.currentTimeMillis())) {
+            try {
+                if (articleService.publishScheduled(articleId)) {
+                    log.info("Scheduled article published: {}", articleId);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to publish scheduled article {}, retrying in {} ms", articleId, RETRY_DELAY_MS, e);
+                wheel.schedule(articleId, System.currentTimeMillis() + RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+}
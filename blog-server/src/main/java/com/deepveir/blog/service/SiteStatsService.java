@@ -2,64 +2,139 @@ package com.deepveir.blog.service;
 
 import com.deepveir.blog.entity.SiteStats;
 import com.deepveir.blog.repository.SiteStatsRepository;
+import com.deepveir.blog.stats.VisitStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 访问统计
+ * 每次访问只写入内存缓冲，后台按固定间隔批量刷新：访客标识批量提交给 {@link VisitStore} 去重，
+ * PV / 新增 UV 以一条累加语句写入数据库，请求路径上没有数据库写入。
+ */
 @Service
 public class SiteStatsService {
 
+    private static final Logger log = LoggerFactory.getLogger(SiteStatsService.class);
+
     @Autowired
     private SiteStatsRepository siteStatsRepository;
 
-    // 用于存储当天已访问的 IP（简单的 UV 去重）
-    // 生产环境建议用 Redis
-    private final Set<String> todayVisitors = ConcurrentHashMap.newKeySet();
-    private LocalDate lastResetDate = LocalDate.now();
+    @Autowired
+    private VisitStore visitStore;
+
+    @Value("${blog.stats.flush-interval-ms:5000}")
+    private long flushIntervalMs;
+
+    // 尚未刷新的访问，按天分组；compute / remove 在同一个桶上互斥，刷新时不会丢失并发写入
+    private final Map<LocalDate, DayBuffer> pending = new ConcurrentHashMap<>();
+    // 已完成去重但写库失败的计数，下次刷新时一起写入，只由刷新线程访问
+    private final Map<LocalDate, long[]> carry = new HashMap<>();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "site-stats-flush");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
 
     /**
      * 记录一次页面访问
      * @param visitorIp 访客 IP 地址
      */
-    @Transactional
     public void recordVisit(String visitorIp) {
-        LocalDate today = LocalDate.now();
+        pending.compute(LocalDate.now(), (day, buffer) -> {
+            DayBuffer target = buffer != null ? buffer : new DayBuffer();
+            target.pageViews++;
+            if (visitorIp != null) {
+                target.visitors.add(visitorIp);
+            }
+            return target;
+        });
+    }
 
-        // 如果跨天了，清空当天访客记录
-        if (!today.equals(lastResetDate)) {
-            todayVisitors.clear();
-            lastResetDate = today;
+    synchronized void flush() {
+        Map<LocalDate, DayBuffer> batch = new HashMap<>();
+        for (LocalDate day : Set.copyOf(pending.keySet())) {
+            DayBuffer buffer = pending.remove(day);
+            if (buffer != null) {
+                batch.put(day, buffer);
+            }
+        }
+        if (batch.isEmpty() && carry.isEmpty()) {
+            return;
         }
 
-        // 获取或创建今天的统计记录
-        SiteStats stats = siteStatsRepository.findByDate(today)
-                .orElseGet(() -> {
-                    SiteStats newStats = new SiteStats(today);
-                    return siteStatsRepository.save(newStats);
-                });
-
-        // PV +1
-        stats.setPageViews(stats.getPageViews() + 1);
+        if (!batch.isEmpty()) {
+            Map<LocalDate, Set<String>> visitors = new HashMap<>();
+            batch.forEach((day, buffer) -> visitors.put(day, buffer.visitors));
+            Map<LocalDate, Long> newVisitors;
+            try {
+                newVisitors = visitStore.addVisitors(visitors);
+            } catch (RuntimeException e) {
+                // 去重存储不可用时放回缓冲，下次重试
+                log.warn("Visit store unavailable, {} day(s) of visits kept for retry", batch.size(), e);
+                batch.forEach(this::requeue);
+                return;
+            }
+            batch.forEach((day, buffer) -> {
+                long[] counts = carry.computeIfAbsent(day, d -> new long[2]);
+                counts[0] += buffer.pageViews;
+                counts[1] += newVisitors.getOrDefault(day, 0L);
+            });
+        }
 
-        // 如果是新访客，UV +1
-        if (visitorIp != null && !todayVisitors.contains(visitorIp)) {
-            todayVisitors.add(visitorIp);
-            stats.setUniqueVisitors(stats.getUniqueVisitors() + 1);
+        for (LocalDate day : Set.copyOf(carry.keySet())) {
+            long[] counts = carry.get(day);
+            try {
+                siteStatsRepository.addCounts(day, counts[0], counts[1]);
+                carry.remove(day);
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush site stats for {}, keeping {} PV / {} UV for retry", day, counts[0], counts[1], e);
+            }
         }
+    }
 
-        siteStatsRepository.save(stats);
+    private void requeue(LocalDate day, DayBuffer buffer) {
+        pending.merge(day, buffer, (current, failed) -> {
+            current.pageViews += failed.pageViews;
+            current.visitors.addAll(failed.visitors);
+            return current;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        // 停机前写入剩余的计数
+        flush();
     }
 
     /**
      * 获取统计概览
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getStatsOverview() {
         Map<String, Object> result = new HashMap<>();
         
@@ -77,9 +152,15 @@ public class SiteStatsService {
     /**
      * 获取最近 N 天的统计数据
      */
+    @Transactional(readOnly = true)
     public List<SiteStats> getRecentStats(int days) {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(days - 1);
         return siteStatsRepository.findByDateBetweenOrderByDateDesc(startDate, endDate);
     }
+
+    private static final class DayBuffer {
+        long pageViews;
+        final Set<String> visitors = new HashSet<>();
+    }
 }
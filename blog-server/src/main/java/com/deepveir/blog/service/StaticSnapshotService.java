@@ -0,0 +1,440 @@
+package com.deepveir.blog.service;
+
+import com.deepveir.blog.cache.CachedBody;
+import com.deepveir.blog.dto.ArticleSummaryDto;
+import com.deepveir.blog.dto.PageViewDto;
+import com.deepveir.blog.entity.Article;
+import com.deepveir.blog.entity.Category;
+import com.deepveir.blog.entity.Page;
+import com.deepveir.blog.entity.Tag;
+import com.deepveir.blog.event.ArticleChangedEvent;
+import com.deepveir.blog.event.AuthorChangedEvent;
+import com.deepveir.blog.event.PageChangedEvent;
+import com.deepveir.blog.event.TaxonomyChangedEvent;
+import com.deepveir.blog.repository.ArticleRepository;
+import com.deepveir.blog.repository.CategoryRepository;
+import com.deepveir.blog.repository.PageRepository;
+import com.deepveir.blog.repository.TagRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 静态快照生成
+ * 将已发布的文章、页面、分类与标签列表渲染为静态 JSON（同时生成 .gz 供 nginx gzip_static 使用），
+ * 由 nginx 直接提供，读请求不再经过 JVM 与 MySQL。
+ *
+ * 目录结构：
+ *   articles/index.json            已发布文章摘要
+ *   articles/{articleId}.json      文章详情（与 /api/articles/by-article-id/{articleId} 一致）
+ *   categories/index.json          分类列表
+ *   categories/{categoryId}.json   分类下的文章摘要
+ *   tags/index.json                标签列表
+ *   tags/{tagId}.json              标签下的文章摘要
+ *   pages/{pageId}.json            页面（与 /api/pages/{pageId} 一致）
+ *   pages/{pageId}.{locale}.json   单语言页面
+ *
+ * 启动后全量生成一次，之后根据变更事件增量重建受影响的文件；所有写入都在单个后台线程中合并执行。
+ * 文章详情中嵌入了分类、标签与作者，它们变化时同时重建其下的文章；写入失败的变更在稍后重试。
+ */
+@Service
+public class StaticSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(StaticSnapshotService.class);
+    private static final String[] LOCALES = {"zh", "en"};
+    private static final long RETRY_DELAY_SECONDS = 30;
+
+    private final ArticleRepository articleRepository;
+    private final PageRepository pageRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate snapshotTx;
+
+    private final boolean enabled;
+    private final Path root;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "static-snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 待重建的内容，由后台线程批量取走
+    private final Object lock = new Object();
+    private Set<String> dirtyArticles = new HashSet<>();
+    private Set<String> dirtyCategories = new HashSet<>();
+    private Set<String> dirtyTags = new HashSet<>();
+    private Set<String> dirtyPages = new HashSet<>();
+    // 名称等信息变化的分类与标签，其下的文章详情需要重建
+    private Set<String> renamedCategories = new HashSet<>();
+    private Set<String> renamedTags = new HashSet<>();
+    private boolean taxonomyDirty;
+    private boolean drainScheduled;
+
+    // 上次写出时已发布文章的摘要，只在后台线程中访问；分类、标签删除后数据库中已没有对应关系，从这里找到受影响的文章
+    private Map<String, ArticleSummaryDto> lastPublished = Map.of();
+
+    public StaticSnapshotService(ArticleRepository articleRepository,
+                                 PageRepository pageRepository,
+                                 CategoryRepository categoryRepository,
+                                 TagRepository tagRepository,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${blog.snapshot.enabled:false}") boolean enabled,
+                                 @Value("${blog.snapshot.dir:./snapshot}") String dir) {
+        this.articleRepository = articleRepository;
+        this.pageRepository = pageRepository;
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+        this.objectMapper = objectMapper;
+        // 不标记为只读：快照由变更事件触发，必须从主库读取刚提交的数据，不能走可能有延迟的从库
+        this.snapshotTx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.root = Paths.get(dir).toAbsolutePath();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled) {
+            executor.submit(this::regenerateAll);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lock) {
+            dirtyArticles.add(event.getArticleId());
+            dirtyCategories.addAll(event.getAffectedCategoryIds());
+            dirtyTags.addAll(event.getAffectedTagIds());
+            // 分类与标签列表中带有已发布文章数
+            taxonomyDirty |= event.isPublicChange();
+            scheduleDrain();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPageChanged(PageChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lock) {
+            dirtyPages.add(event.pageId());
+            scheduleDrain();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaxonomyChanged(TaxonomyChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lock) {
+            taxonomyDirty = true;
+            if (event.kind() == TaxonomyChangedEvent.Kind.CATEGORY) {
+                dirtyCategories.add(event.id());
+                renamedCategories.add(event.id());
+            } else {
+                dirtyTags.add(event.id());
+                renamedTags.add(event.id());
+            }
+            scheduleDrain();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        if (!enabled || event.articleIds().isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            dirtyArticles.addAll(event.articleIds());
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * 全量重建所有快照文件
+     */
+    public void regenerateAll() {
+        long start = System.currentTimeMillis();
+        try {
+            List<ArticleSummaryDto> summaries = loadSummaries();
+            for (ArticleSummaryDto summary : summaries) {
+                writeArticle(summary.getArticleId());
+            }
+            writeListings(summaries,
+                    categoryRepository.findAll().stream().map(Category::getCategoryId).collect(Collectors.toSet()),
+                    tagRepository.findAll().stream().map(Tag::getTagId).collect(Collectors.toSet()),
+                    true);
+            lastPublished = byArticleId(summaries);
+            for (Page page : pageRepository.findAll()) {
+                writePage(page.getPageId());
+            }
+            log.info("Static snapshot regenerated: {} articles in {} ms -> {}",
+                    summaries.size(), System.currentTimeMillis() - start, root);
+        } catch (Exception e) {
+            log.error("Static snapshot regeneration failed", e);
+        }
+    }
+
+    private void scheduleDrain() {
+        if (!drainScheduled) {
+            drainScheduled = true;
+            executor.submit(this::drain);
+        }
+    }
+
+    /**
+     * 取走当前累计的变更并重建受影响的文件，同一批次内的重复变更只处理一次
+     * 失败时把这一批变更放回，与之后的变更合并，稍后重试
+     */
+    private void drain() {
+        Set<String> articles;
+        Set<String> categories;
+        Set<String> tags;
+        Set<String> pages;
+        Set<String> categoryArticles;
+        Set<String> tagArticles;
+        boolean taxonomy;
+        synchronized (lock) {
+            articles = dirtyArticles;
+            categories = dirtyCategories;
+            tags = dirtyTags;
+            pages = dirtyPages;
+            categoryArticles = renamedCategories;
+            tagArticles = renamedTags;
+            taxonomy = taxonomyDirty;
+            dirtyArticles = new HashSet<>();
+            dirtyCategories = new HashSet<>();
+            dirtyTags = new HashSet<>();
+            dirtyPages = new HashSet<>();
+            renamedCategories = new HashSet<>();
+            renamedTags = new HashSet<>();
+            taxonomyDirty = false;
+            drainScheduled = false;
+        }
+        try {
+            if (!articles.isEmpty() || !categories.isEmpty() || !tags.isEmpty() || taxonomy) {
+                List<ArticleSummaryDto> summaries = loadSummaries();
+                Set<String> affected = new HashSet<>(articles);
+                if (!categoryArticles.isEmpty() || !tagArticles.isEmpty()) {
+                    // 变更前（上次写出时）与变更后属于这些分类、标签的文章都要重建
+                    for (ArticleSummaryDto summary : lastPublished.values()) {
+                        addIfTagged(affected, summary, categoryArticles, tagArticles);
+                    }
+                    for (ArticleSummaryDto summary : summaries) {
+                        addIfTagged(affected, summary, categoryArticles, tagArticles);
+                    }
+                }
+                for (String articleId : affected) {
+                    writeArticle(articleId);
+                }
+                writeListings(summaries, categories, tags, taxonomy);
+                lastPublished = byArticleId(summaries);
+            }
+            for (String pageId : pages) {
+                writePage(pageId);
+            }
+        } catch (Exception e) {
+            log.error("Incremental snapshot update failed, retrying in {} s", RETRY_DELAY_SECONDS, e);
+            synchronized (lock) {
+                dirtyArticles.addAll(articles);
+                dirtyCategories.addAll(categories);
+                dirtyTags.addAll(tags);
+                dirtyPages.addAll(pages);
+                renamedCategories.addAll(categoryArticles);
+                renamedTags.addAll(tagArticles);
+                taxonomyDirty |= taxonomy;
+                if (!drainScheduled) {
+                    drainScheduled = true;
+                    executor.schedule(this::drain, RETRY_DELAY_SECONDS, TimeUnit.SECONDS);
+                }
+            }
+        }
+    }
+
+    private static void addIfTagged(Set<String> affected, ArticleSummaryDto summary,
+                                    Set<String> categoryIds, Set<String> tagIds) {
+        if ((summary.getCategoryId() != null && categoryIds.contains(summary.getCategoryId()))
+                || summary.getTagIds().stream().anyMatch(tagIds::contains)) {
+            affected.add(summary.getArticleId());
+        }
+    }
+
+    private static Map<String, ArticleSummaryDto> byArticleId(List<ArticleSummaryDto> summaries) {
+        return summaries.stream().collect(Collectors.toMap(ArticleSummaryDto::getArticleId, s -> s));
+    }
+
+    private List<ArticleSummaryDto> loadSummaries() {
+        return snapshotTx.execute(status -> {
+            List<ArticleSummaryDto> summaries = articleRepository.findPublishedSummaries();
+            Map<String, ArticleSummaryDto> byId = byArticleId(summaries);
+            for (Object[] pair : articleRepository.findPublishedArticleTagPairs()) {
+                ArticleSummaryDto summary = byId.get((String) pair[0]);
+                if (summary != null) {
+                    summary.getTagIds().add((String) pair[1]);
+                }
+            }
+            return summaries;
+        });
+    }
+
+    private void writeArticle(String articleId) throws IOException {
+        Path file = file("articles", articleId + ".json");
+        // 序列化需要在事务内完成，作者等懒加载属性才能被读取
+        CachedBody body = snapshotTx.execute(status -> articleRepository.findByArticleId(articleId)
+                .filter(article -> Article.STATUS_PUBLISHED.equals(article.getStatus()))
+                .map(article -> {
+                    try {
+                        return CachedBody.json(objectMapper, article);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .orElse(null));
+        if (body == null) {
+            delete(file);
+        } else {
+            write(file, body);
+        }
+    }
+
+    private void writeListings(List<ArticleSummaryDto> summaries,
+                               Set<String> categoryIds,
+                               Set<String> tagIds,
+                               boolean taxonomy) throws IOException {
+        write(file("articles", "index.json"), CachedBody.json(objectMapper, summaries));
+        if (taxonomy) {
+            Map<String, Integer> categoryCounts = new HashMap<>();
+            Map<String, Integer> tagCounts = new HashMap<>();
+            for (ArticleSummaryDto summary : summaries) {
+                if (summary.getCategoryId() != null) {
+                    categoryCounts.merge(summary.getCategoryId(), 1, Integer::sum);
+                }
+                summary.getTagIds().forEach(tagId -> tagCounts.merge(tagId, 1, Integer::sum));
+            }
+            List<Category> categories = categoryRepository.findAllByOrderBySortOrderAsc();
+            categories.forEach(c -> c.setArticleCount(categoryCounts.getOrDefault(c.getCategoryId(), 0)));
+            List<Tag> tags = tagRepository.findAll();
+            tags.forEach(t -> t.setArticleCount(tagCounts.getOrDefault(t.getTagId(), 0)));
+            write(file("categories", "index.json"), CachedBody.json(objectMapper, categories));
+            write(file("tags", "index.json"), CachedBody.json(objectMapper, tags));
+        }
+        for (String categoryId : categoryIds) {
+            Path file = file("categories", categoryId + ".json");
+            if (categoryRepository.existsByCategoryId(categoryId)) {
+                List<ArticleSummaryDto> inCategory = summaries.stream()
+                        .filter(s -> categoryId.equals(s.getCategoryId()))
+                        .collect(Collectors.toList());
+                write(file, CachedBody.json(objectMapper, inCategory));
+            } else {
+                delete(file);
+            }
+        }
+        for (String tagId : tagIds) {
+            Path file = file("tags", tagId + ".json");
+            if (tagRepository.existsByTagId(tagId)) {
+                List<ArticleSummaryDto> withTag = summaries.stream()
+                        .filter(s -> s.getTagIds().contains(tagId))
+                        .collect(Collectors.toList());
+                write(file, CachedBody.json(objectMapper, withTag));
+            } else {
+                delete(file);
+            }
+        }
+    }
+
+    private void writePage(String pageId) throws IOException {
+        Page page = pageRepository.findByPageId(pageId)
+                .filter(p -> p.getStatus() != null && p.getStatus() == 1)
+                .orElse(null);
+        if (page == null) {
+            delete(file("pages", pageId + ".json"));
+            for (String locale : LOCALES) {
+                delete(file("pages", pageId + "." + locale + ".json"));
+            }
+            return;
+        }
+        write(file("pages", pageId + ".json"), CachedBody.json(objectMapper, page));
+        for (String locale : LOCALES) {
+            write(file("pages", pageId + "." + locale + ".json"),
+                    CachedBody.json(objectMapper, PageViewDto.of(page, locale)));
+        }
+    }
+
+    /**
+     * 解析快照文件路径，拒绝包含路径穿越的标识
+     */
+    private Path file(String dir, String name) {
+        Path file = root.resolve(dir).resolve(name).normalize();
+        if (!file.startsWith(root.resolve(dir))) {
+            throw new IllegalArgumentException("Invalid snapshot file name: " + name);
+        }
+        return file;
+    }
+
+    /**
+     * 先写临时文件再原子替换，nginx 不会读到写了一半的文件
+     */
+    private void write(Path file, CachedBody body) throws IOException {
+        Files.createDirectories(file.getParent());
+        replace(file, body.getIdentity());
+        Path gz = file.resolveSibling(file.getFileName() + ".gz");
+        if (body.hasGzip()) {
+            replace(gz, body.getGzip());
+        } else {
+            Files.deleteIfExists(gz);
+        }
+    }
+
+    private void replace(Path target, byte[] content) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), ".snapshot-", ".tmp");
+        try {
+            Files.write(tmp, content);
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private void delete(Path file) throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".gz"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
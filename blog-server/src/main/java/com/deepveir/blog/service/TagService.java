@@ -1,8 +1,12 @@
 package com.deepveir.blog.service;
 
+import com.deepveir.blog.cache.InvalidationBus;
 import com.deepveir.blog.entity.Tag;
+import com.deepveir.blog.event.TaxonomyChangedEvent;
 import com.deepveir.blog.repository.TagRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,49 +16,77 @@ import java.util.UUID;
 public class TagService {
 
     private final TagRepository tagRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvalidationBus invalidationBus;
+    private final TaxonomyCountService countService;
 
-    public TagService(TagRepository tagRepository) {
+    public TagService(TagRepository tagRepository, ApplicationEventPublisher eventPublisher,
+                      InvalidationBus invalidationBus, TaxonomyCountService countService) {
         this.tagRepository = tagRepository;
+        this.eventPublisher = eventPublisher;
+        this.invalidationBus = invalidationBus;
+        this.countService = countService;
     }
 
+    @Transactional(readOnly = true)
     public List<Tag> getAllTags() {
-        return tagRepository.findAll();
+        return countService.withTagCounts(tagRepository.findAll());
     }
 
     public Optional<Tag> getTagById(UUID id) {
-        return tagRepository.findById(id);
+        return tagRepository.findById(id).map(this::withCount);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Tag> getTagByTagId(String tagId) {
-        return tagRepository.findByTagId(tagId);
+        return tagRepository.findByTagId(tagId).map(this::withCount);
     }
 
     public Tag createTag(Tag tag) {
         if (tag.getTagId() == null || tag.getTagId().isEmpty()) {
             tag.setTagId(generateTagId(tag.getName()));
         }
-        return tagRepository.save(tag);
+        Tag saved = tagRepository.save(tag);
+        publishChange(saved.getTagId());
+        return saved;
     }
 
     public Optional<Tag> updateTag(UUID id, Tag tagDetails) {
         return tagRepository.findById(id).map(tag -> {
+            String previousId = tag.getTagId();
             if (tagDetails.getName() != null) {
                 tag.setName(tagDetails.getName());
             }
             if (tagDetails.getTagId() != null) {
                 tag.setTagId(tagDetails.getTagId());
             }
-            return tagRepository.save(tag);
+            Tag saved = tagRepository.save(tag);
+            if (!saved.getTagId().equals(previousId)) {
+                publishChange(previousId);
+            }
+            publishChange(saved.getTagId());
+            return saved;
         });
     }
 
     public boolean deleteTag(UUID id) {
         return tagRepository.findById(id).map(tag -> {
             tagRepository.delete(tag);
+            publishChange(tag.getTagId());
             return true;
         }).orElse(false);
     }
 
+    private Tag withCount(Tag tag) {
+        tag.setArticleCount(countService.getTagCount(tag.getTagId()));
+        return tag;
+    }
+
+    private void publishChange(String tagId) {
+        eventPublisher.publishEvent(new TaxonomyChangedEvent(TaxonomyChangedEvent.Kind.TAG, tagId));
+        invalidationBus.publish(InvalidationBus.REGION_TAXONOMY, "tag:" + tagId);
+    }
+
     private String generateTagId(String name) {
         String base = name.toLowerCase()
                 .replaceAll("[^a-z0-9\\u4e00-\\u9fa5]", "-")
@@ -0,0 +1,238 @@
+package com.deepveir.blog.service;
+
+import com.deepveir.blog.cache.InvalidationBus;
+import com.deepveir.blog.entity.Article;
+import com.deepveir.blog.entity.Category;
+import com.deepveir.blog.entity.Tag;
+import com.deepveir.blog.event.ArticleChangedEvent;
+import com.deepveir.blog.event.ArticleSnapshot;
+import com.deepveir.blog.event.TaxonomyChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分类与标签下的已发布文章数
+ * 计数常驻内存，根据文章变更事件前后快照的差值增量维护，读取时不访问数据库。
+ * 启动时、其他实例有文章或分类标签变更时以及每隔 repair-minutes 从数据库全量重建一次，
+ * 修正并发保存同一篇文章、事件丢失等原因造成的偏差。
+ */
+@Service
+public class TaxonomyCountService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaxonomyCountService.class);
+
+    // 不在只读事务中执行，读取主库上刚提交的数据
+    private static final String CATEGORY_COUNT_SQL = "SELECT category_id, COUNT(*) FROM articles " +
+            "WHERE status = '" + Article.STATUS_PUBLISHED + "' AND category_id IS NOT NULL GROUP BY category_id";
+    private static final String TAG_COUNT_SQL = "SELECT at.tag_id, COUNT(*) FROM article_tags at " +
+            "JOIN articles a ON a.article_id = at.article_id " +
+            "WHERE a.status = '" + Article.STATUS_PUBLISHED + "' GROUP BY at.tag_id";
+    // 重建期间仍有增量变更时最多重试的次数，之后交给下一轮定期修复
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+    // 远程变更合并后再重建，批量导入时不会每篇文章查询一次
+    private static final long REBUILD_DELAY_SECONDS = 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long repairMinutes;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "taxonomy-count");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 计数只在持有 lock 时修改，读取不加锁；计数降为 0 的键被移除
+    private final Object lock = new Object();
+    private volatile Map<String, Integer> categoryCounts = new ConcurrentHashMap<>();
+    private volatile Map<String, Integer> tagCounts = new ConcurrentHashMap<>();
+    private boolean rebuilding;
+    private boolean changedDuringRebuild;
+    private boolean rebuildScheduled;
+    private boolean loaded;
+
+    public TaxonomyCountService(JdbcTemplate jdbcTemplate,
+                                InvalidationBus invalidationBus,
+                                @Value("${blog.taxonomy.count-repair-minutes:60}") long repairMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.repairMinutes = repairMinutes;
+        // 其他实例的变更只带 key，没有前后快照，只能重建
+        InvalidationBus.InvalidationListener onRemoteChange = (key, remote) -> {
+            if (remote) {
+                requestRebuild();
+            }
+        };
+        invalidationBus.subscribe(InvalidationBus.REGION_ARTICLE, onRemoteChange);
+        invalidationBus.subscribe(InvalidationBus.REGION_TAXONOMY, onRemoteChange);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(this::rebuild);
+        if (repairMinutes > 0) {
+            executor.scheduleWithFixedDelay(this::rebuild, repairMinutes, repairMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!event.isPublicChange()) {
+            return;
+        }
+        synchronized (lock) {
+            apply(event.getBefore(), -1);
+            apply(event.getAfter(), 1);
+            if (rebuilding) {
+                changedDuringRebuild = true;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaxonomyChanged(TaxonomyChangedEvent event) {
+        // 修改 tagId / categoryId 或删除时，article_tags 与 articles 上的引用由数据库级联处理，计数需要重新统计
+        requestRebuild();
+    }
+
+    public int getCategoryCount(String categoryId) {
+        return categoryCounts.getOrDefault(categoryId, 0);
+    }
+
+    public int getTagCount(String tagId) {
+        return tagCounts.getOrDefault(tagId, 0);
+    }
+
+    /**
+     * 所有有已发布文章的标签及其文章数，供标签云使用
+     */
+    public Map<String, Integer> getTagCounts() {
+        return Map.copyOf(tagCounts);
+    }
+
+    public Map<String, Integer> getCategoryCounts() {
+        return Map.copyOf(categoryCounts);
+    }
+
+    /**
+     * 填充分类的 articleCount，返回同一个集合
+     */
+    public <C extends Collection<Category>> C withCategoryCounts(C categories) {
+        for (Category category : categories) {
+            category.setArticleCount(getCategoryCount(category.getCategoryId()));
+        }
+        return categories;
+    }
+
+    public <C extends Collection<Tag>> C withTagCounts(C tags) {
+        for (Tag tag : tags) {
+            tag.setArticleCount(getTagCount(tag.getTagId()));
+        }
+        return tags;
+    }
+
+    /**
+     * 从数据库全量重建计数；重建期间有增量变更时重新统计，避免重建结果覆盖掉刚应用的变更
+     */
+    public void rebuild() {
+        synchronized (lock) {
+            rebuilding = true;
+            rebuildScheduled = false;
+        }
+        try {
+            for (int attempt = 1; ; attempt++) {
+                synchronized (lock) {
+                    changedDuringRebuild = false;
+                }
+                Map<String, Integer> categories = queryCounts(CATEGORY_COUNT_SQL);
+                Map<String, Integer> tags = queryCounts(TAG_COUNT_SQL);
+                synchronized (lock) {
+                    if (changedDuringRebuild && attempt < MAX_REBUILD_ATTEMPTS) {
+                        continue;
+                    }
+                    int drift = drift(categoryCounts, categories) + drift(tagCounts, tags);
+                    if (loaded && drift > 0) {
+                        log.info("Taxonomy counts rebuilt, {} entr{} corrected", drift, drift == 1 ? "y" : "ies");
+                    }
+                    categoryCounts = categories;
+                    tagCounts = tags;
+                    loaded = true;
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to rebuild taxonomy counts", e);
+        } finally {
+            synchronized (lock) {
+                rebuilding = false;
+            }
+        }
+    }
+
+    private void requestRebuild() {
+        synchronized (lock) {
+            if (!rebuildScheduled) {
+                rebuildScheduled = true;
+                executor.schedule(this::rebuild, REBUILD_DELAY_SECONDS, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private void apply(ArticleSnapshot snapshot, int delta) {
+        if (snapshot == null || !snapshot.isPublished()) {
+            return;
+        }
+        if (snapshot.categoryId() != null) {
+            add(categoryCounts, snapshot.categoryId(), delta);
+        }
+        for (String tagId : snapshot.tagIds()) {
+            add(tagCounts, tagId, delta);
+        }
+    }
+
+    private static void add(Map<String, Integer> counts, String key, int delta) {
+        counts.compute(key, (k, current) -> {
+            int value = (current != null ? current : 0) + delta;
+            return value > 0 ? value : null;
+        });
+    }
+
+    private Map<String, Integer> queryCounts(String sql) {
+        Map<String, Integer> counts = new ConcurrentHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            counts.put(rs.getString(1), rs.getInt(2));
+        });
+        return counts;
+    }
+
+    private static int drift(Map<String, Integer> current, Map<String, Integer> rebuilt) {
+        int drift = 0;
+        for (Map.Entry<String, Integer> entry : rebuilt.entrySet()) {
+            if (!entry.getValue().equals(current.get(entry.getKey()))) {
+                drift++;
+            }
+        }
+        for (String key : current.keySet()) {
+            if (!rebuilt.containsKey(key)) {
+                drift++;
+            }
+        }
+        return drift;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,16 +1,24 @@
 package com.deepveir.blog.service;
 
+import com.deepveir.blog.cache.InvalidationBus;
 import com.deepveir.blog.entity.Role;
 import com.deepveir.blog.entity.User;
+import com.deepveir.blog.event.AuthorChangedEvent;
+import com.deepveir.blog.repository.ArticleRepository;
 import com.deepveir.blog.repository.OrganizationRepository;
 import com.deepveir.blog.repository.RoleRepository;
 import com.deepveir.blog.repository.UserRepository;
+import com.deepveir.blog.util.MediaReferences;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -20,15 +28,27 @@ public class UserService {
     private final RoleRepository roleRepository;
     private final OrganizationRepository organizationRepository;
     private final PasswordEncoder passwordEncoder;
+    private final InvalidationBus invalidationBus;
+    private final MediaService mediaService;
+    private final ArticleRepository articleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserService(UserRepository userRepository,
                        RoleRepository roleRepository,
                        OrganizationRepository organizationRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       InvalidationBus invalidationBus,
+                       MediaService mediaService,
+                       ArticleRepository articleRepository,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.organizationRepository = organizationRepository;
         this.passwordEncoder = passwordEncoder;
+        this.invalidationBus = invalidationBus;
+        this.mediaService = mediaService;
+        this.articleRepository = articleRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<User> getAllUsers() {
@@ -109,11 +129,14 @@ public class UserService {
         }
 
         User savedUser = userRepository.save(user);
+        mediaService.updateReferences(Set.of(), MediaReferences.extract(savedUser.getAvatar()));
         return savedUser;
     }
 
     public Optional<User> updateUser(UUID id, User userDetails) {
         return userRepository.findById(id).map(user -> {
+            Set<String> avatarBefore = MediaReferences.extract(user.getAvatar());
+            List<Object> authorBefore = authorFields(user);
             if (userDetails.getEmail() != null) user.setEmail(userDetails.getEmail());
             if (userDetails.getUsername() != null) user.setUsername(userDetails.getUsername());
             if (userDetails.getAvatar() != null) user.setAvatar(userDetails.getAvatar());
@@ -136,14 +159,38 @@ public class UserService {
                             user.setOrganization(org.getName());
                         });
             }
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            mediaService.updateReferences(avatarBefore, MediaReferences.extract(saved.getAvatar()));
+            // 状态变化（禁用）需要让各实例缓存的 Token 校验结果失效
+            invalidationBus.publish(InvalidationBus.REGION_USER, saved.getUserId());
+            if (!authorBefore.equals(authorFields(saved))) {
+                eventPublisher.publishEvent(new AuthorChangedEvent(saved.getUserId(),
+                        new HashSet<>(articleRepository.findPublishedArticleIdsByAuthor(saved.getUserId()))));
+                invalidationBus.publish(InvalidationBus.REGION_AUTHOR, saved.getUserId());
+            }
+            return saved;
         });
     }
 
     public boolean deleteUser(UUID id) {
         return userRepository.findById(id).map(user -> {
+            // 删除后文章的作者被外键置空，需要在删除前查出受影响的文章
+            Set<String> articleIds = new HashSet<>(articleRepository.findPublishedArticleIdsByAuthor(user.getUserId()));
             userRepository.delete(user);
+            mediaService.updateReferences(MediaReferences.extract(user.getAvatar()), Set.of());
+            invalidationBus.publish(InvalidationBus.REGION_USER, user.getUserId());
+            eventPublisher.publishEvent(new AuthorChangedEvent(user.getUserId(), articleIds));
+            // 这些文章的行已经变化，按文章失效，其他实例无法再按作者找到它们
+            articleIds.forEach(articleId -> invalidationBus.publish(InvalidationBus.REGION_ARTICLE, articleId));
             return true;
         }).orElse(false);
     }
+
+    /**
+     * 文章响应中嵌入的作者展示字段；只有这些字段变化才需要让文章缓存失效，登录、退出只改 Token 版本号
+     */
+    private static List<Object> authorFields(User user) {
+        return Arrays.asList(user.getUsername(), user.getAvatar(), user.getBio(), user.getWebsite(),
+                user.getOrganization(), user.getJobTitle());
+    }
 }
@@ -0,0 +1,184 @@
+package com.deepveir.blog.service;
+
+import com.deepveir.blog.dto.FeedEntryDto;
+import com.deepveir.blog.repository.ArticleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 启动预热
+ * 启动完成后在后台线程中：
+ * 1. 加载标签、分类与菜单树，完成 Hibernate 查询计划与实体元数据的首次初始化；
+ * 2. 通过本机 HTTP 多轮并发请求主要的公开接口（列表、浏览、归档、订阅与最近发布的 N 篇文章详情），
+ *    让过滤器链、Jackson 与热点代码路径经过 JIT 编译，填充文章响应缓存，并让连接池建立足够的连接。
+ * 预热完成（或超时、失败）之前 {@link #isReady()} 为 false，/api/health/ready 返回 503，
+ * 负载均衡与容器编排据此决定何时把流量切到新实例。
+ */
+@Service
+public class WarmupService {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupService.class);
+
+    // 低于过载保护的初始并发上限，预热请求不会被自己拒绝
+    private static final int CONCURRENCY = 8;
+
+    private final ArticleRepository articleRepository;
+    private final TagService tagService;
+    private final CategoryService categoryService;
+    private final MenuService menuService;
+    private final Environment environment;
+    private final boolean enabled;
+    private final int articleCount;
+    private final int rounds;
+    private final long timeoutMs;
+
+    private volatile boolean ready;
+    private volatile long durationMs = -1;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    public WarmupService(ArticleRepository articleRepository,
+                         TagService tagService,
+                         CategoryService categoryService,
+                         @Lazy MenuService menuService,
+                         Environment environment,
+                         @Value("${blog.warmup.enabled:true}") boolean enabled,
+                         @Value("${blog.warmup.articles:20}") int articleCount,
+                         @Value("${blog.warmup.rounds:3}") int rounds,
+                         @Value("${blog.warmup.timeout-seconds:60}") long timeoutSeconds) {
+        this.articleRepository = articleRepository;
+        this.tagService = tagService;
+        this.categoryService = categoryService;
+        this.menuService = menuService;
+        this.environment = environment;
+        this.enabled = enabled;
+        this.articleCount = articleCount;
+        this.rounds = rounds;
+        this.timeoutMs = timeoutSeconds * 1000;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            ready = true;
+            return;
+        }
+        Thread t = new Thread(this::run, "warmup");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("ready", ready);
+        status.put("durationMs", durationMs);
+        status.put("requests", requests.get());
+        status.put("failures", failures.get());
+        return status;
+    }
+
+    private void run() {
+        long start = System.currentTimeMillis();
+        try {
+            List<String> paths = preload();
+            exercise(paths, start + timeoutMs);
+        } catch (Exception e) {
+            // 预热失败不影响服务，只是首批请求会慢一些
+            log.warn("Warm-up failed, marking instance ready anyway", e);
+        } finally {
+            durationMs = System.currentTimeMillis() - start;
+            ready = true;
+            log.info("Warm-up finished in {}ms ({} requests, {} failed)", durationMs, requests.get(), failures.get());
+        }
+    }
+
+    /**
+     * 直接调用服务加载分类数据，返回需要通过 HTTP 预热的路径
+     */
+    private List<String> preload() {
+        tagService.getAllTags();
+        categoryService.getAllCategories();
+        // MenuService 为延迟创建的 Bean，在这里（启动完成后）才初始化
+        menuService.getAllMenusTree();
+
+        List<String> paths = new ArrayList<>(List.of(
+                "/api/articles?size=10",
+                "/api/articles/browse",
+                "/api/articles/archive",
+                "/api/categories",
+                "/api/tags",
+                "/feed.xml",
+                "/sitemap.xml"));
+        if (articleCount > 0) {
+            for (FeedEntryDto entry : articleRepository.findFeedEntries(PageRequest.of(0, articleCount))) {
+                paths.add("/api/articles/by-article-id/" + URLEncoder.encode(entry.getArticleId(), StandardCharsets.UTF_8));
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * 每轮请求全部路径（每批 CONCURRENCY 个并发），原始与 gzip 两种表示交替；超过截止时间后停止
+     */
+    private void exercise(List<String> paths, long deadline) {
+        String base = "http://127.0.0.1:" + environment.getProperty("local.server.port", "8080")
+                + environment.getProperty("server.servlet.context-path", "");
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (int round = 0; round < rounds && System.currentTimeMillis() < deadline; round++) {
+            boolean gzip = round % 2 == 1;
+            for (int from = 0; from < paths.size() && System.currentTimeMillis() < deadline; from += CONCURRENCY) {
+                exerciseBatch(client, base, paths.subList(from, Math.min(from + CONCURRENCY, paths.size())), gzip, deadline);
+            }
+        }
+    }
+
+    private void exerciseBatch(HttpClient client, String base, List<String> paths, boolean gzip, long deadline) {
+        List<CompletableFuture<Void>> pending = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + path))
+                    .timeout(Duration.ofMillis(Math.max(deadline - System.currentTimeMillis(), 1)))
+                    .header("User-Agent", "blog-warmup");
+            if (gzip) {
+                request.header("Accept-Encoding", "gzip");
+            }
+            requests.incrementAndGet();
+            pending.add(client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        if (error != null || response.statusCode() >= 500) {
+                            failures.incrementAndGet();
+                            log.debug("Warm-up request {} failed: {}", path,
+                                    error != null ? error.toString() : response.statusCode());
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+    }
+}
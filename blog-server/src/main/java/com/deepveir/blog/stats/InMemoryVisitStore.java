@@ -0,0 +1,35 @@
+package com.deepveir.blog.stats;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 单实例内存实现：重启后当天的去重记录丢失，只适合单实例部署与本地开发
+ */
+public class InMemoryVisitStore implements VisitStore {
+
+    private final Map<LocalDate, Set<String>> visitors = new HashMap<>();
+
+    @Override
+    public synchronized Map<LocalDate, Long> addVisitors(Map<LocalDate, Set<String>> visitorsByDay) {
+        // 只保留昨天及以后的记录，跨天时释放旧数据
+        LocalDate oldest = LocalDate.now().minusDays(1);
+        visitors.keySet().removeIf(day -> day.isBefore(oldest));
+
+        Map<LocalDate, Long> added = new HashMap<>();
+        for (Map.Entry<LocalDate, Set<String>> entry : visitorsByDay.entrySet()) {
+            Set<String> seen = visitors.computeIfAbsent(entry.getKey(), day -> new HashSet<>());
+            long count = 0;
+            for (String visitor : entry.getValue()) {
+                if (seen.add(visitor)) {
+                    count++;
+                }
+            }
+            added.put(entry.getKey(), count);
+        }
+        return added;
+    }
+}
@@ -0,0 +1,71 @@
+package com.deepveir.blog.stats;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis 共享实现：每天一个 Set（blog:stats:uv:yyyy-MM-dd），SADD 的返回值即新增访客数。
+ * 一个批次内所有天的 SADD / EXPIRE 通过 pipeline 一次往返发送，多个实例共享同一份去重数据，重启也不会丢失。
+ */
+public class RedisVisitStore implements VisitStore {
+
+    private static final String KEY_PREFIX = "blog:stats:uv:";
+    // 保留两天，覆盖跨天前后延迟刷新的批次
+    private static final Duration TTL = Duration.ofDays(2);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisVisitStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Map<LocalDate, Long> addVisitors(Map<LocalDate, Set<String>> visitorsByDay) {
+        List<LocalDate> days = new ArrayList<>();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Map.Entry<LocalDate, Set<String>> entry : visitorsByDay.entrySet()) {
+                if (entry.getValue().isEmpty()) {
+                    continue;
+                }
+                days.add(entry.getKey());
+                sAdd(connection, key(entry.getKey()), entry.getValue());
+            }
+            return null;
+        });
+
+        Map<LocalDate, Long> added = new HashMap<>();
+        // 每天对应两条结果：SADD 新增数量、EXPIRE 是否成功
+        for (int i = 0; i < days.size(); i++) {
+            Object result = results.get(i * 2);
+            added.put(days.get(i), result instanceof Number number ? number.longValue() : 0L);
+        }
+        for (LocalDate day : visitorsByDay.keySet()) {
+            added.putIfAbsent(day, 0L);
+        }
+        return added;
+    }
+
+    private static void sAdd(RedisConnection connection, byte[] key, Set<String> visitors) {
+        byte[][] members = new byte[visitors.size()][];
+        int i = 0;
+        for (String visitor : visitors) {
+            members[i++] = visitor.getBytes(StandardCharsets.UTF_8);
+        }
+        connection.setCommands().sAdd(key, members);
+        connection.keyCommands().expire(key, TTL.getSeconds());
+    }
+
+    private static byte[] key(LocalDate day) {
+        return (KEY_PREFIX + day).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,21 @@
+package com.deepveir.blog.stats;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 访客去重存储
+ * 按天记录已出现过的访客标识，返回本次新增的访客数，用于计算 UV。
+ * 多实例部署时需要使用共享实现（见 {@link RedisVisitStore}），否则每个实例各自去重会重复计数。
+ */
+public interface VisitStore {
+
+    /**
+     * 批量登记访客
+     *
+     * @param visitorsByDay 每天本批次出现的访客标识
+     * @return 每天之前未出现过的访客数
+     */
+    Map<LocalDate, Long> addVisitors(Map<LocalDate, Set<String>> visitorsByDay);
+}
@@ -0,0 +1,25 @@
+package com.deepveir.blog.stats;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 按 blog.stats.store 选择访客去重存储：memory（默认）或 redis
+ */
+@Configuration
+public class VisitStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.stats.store", havingValue = "redis")
+    public VisitStore redisVisitStore(StringRedisTemplate redisTemplate) {
+        return new RedisVisitStore(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.stats.store", havingValue = "memory", matchIfMissing = true)
+    public VisitStore inMemoryVisitStore() {
+        return new InMemoryVisitStore();
+    }
+}
@@ -0,0 +1,144 @@
+package com.deepveir.blog.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 根据响应延迟自适应调整的并发上限（梯度算法，参考 TCP Vegas）
+ * 延迟按路由分组统计（{@link Group}），不同接口的正常耗时相差很大，不能共用一个基准：
+ * 每组把一个采样窗口内的平均延迟作为短期延迟，再对未过载窗口的平均值做长期指数平滑作为无排队时的基准。
+ * 每个窗口结束时计算梯度 (基准 × tolerance + 固定余量) / 短期延迟，限制在 [backoff, 1]：
+ * 短期延迟明显高于基准说明开始排队（数据库连接池、CPU 饱和），上限按梯度缩小；
+ * 延迟正常且并发接近上限时，上限按 sqrt(limit) 的排队余量平滑增长。
+ * 单个慢请求只影响所在窗口的平均值，不会让上限一路缩小到下界。
+ *
+ * 获取许可只做一次 CAS，不阻塞；调整上限只发生在请求结束时，加锁开销可以忽略。
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // 短期延迟的采样窗口：至少持续这么久并且包含足够多的请求
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int WINDOW_MIN_SAMPLES = 10;
+    // 长期基准约为最近 100 个窗口的指数平均
+    private static final double BASELINE_ALPHA = 2.0 / 101;
+    // 每个窗口增长 sqrt(limit) 的比例
+    private static final double GROWTH_RATE = 0.2;
+    // 延迟较小时乘法阈值过于敏感，额外允许的固定排队时间
+    private static final long SLACK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoff;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    /**
+     * @param tolerance 延迟超过基准的多少倍视为过载
+     * @param backoff   每个采样窗口上限最多缩小到的比例
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoff) {
+        if (minLimit <= 0 || maxLimit < minLimit || tolerance <= 1 || backoff <= 0 || backoff >= 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoff = backoff;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * 新建一个延迟统计分组，每个路由组使用一个
+     */
+    public Group newGroup() {
+        return new Group();
+    }
+
+    /**
+     * @param share 可以使用的上限比例，为预留容量的请求类别传 1.0
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 请求结束时调用；latencyNanos 小于 0 表示不参与延迟采样（上传等耗时与负载无关的请求）
+     */
+    public void release(Group group, long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        if (latencyNanos >= 0) {
+            adjust(group, latencyNanos, current);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void adjust(Group group, long latencyNanos, int concurrency) {
+        long now = System.nanoTime();
+        group.windowSum += latencyNanos;
+        group.windowCount++;
+        group.windowMaxConcurrency = Math.max(group.windowMaxConcurrency, concurrency);
+        if (group.windowCount < WINDOW_MIN_SAMPLES || now - group.windowStart < WINDOW_NANOS) {
+            return;
+        }
+        double shortNanos = (double) group.windowSum / group.windowCount;
+        boolean utilized = group.windowMaxConcurrency >= limit / 2;
+        group.windowSum = 0;
+        group.windowCount = 0;
+        group.windowMaxConcurrency = 0;
+        group.windowStart = now;
+
+        if (group.baselineNanos <= 0) {
+            group.baselineNanos = shortNanos;
+        }
+        double gradient = Math.max(backoff, Math.min(1.0,
+                (group.baselineNanos * tolerance + SLACK_NANOS) / shortNanos));
+        if (gradient >= 1.0) {
+            group.baselineNanos += (shortNanos - group.baselineNanos) * BASELINE_ALPHA;
+        } else if (limit <= minLimit) {
+            // 过载的窗口不更新基准，否则持续排队的延迟会被逐渐当成正常值；
+            // 已经降到下界仍然过载，说明接口本身变慢了（数据量增长等），以当前延迟作为新的基准
+            group.baselineNanos = shortNanos;
+        }
+        double next;
+        if (gradient < 1.0) {
+            next = limit * gradient;
+        } else if (utilized) {
+            // 并发接近上限且延迟正常时才增长，空闲时上限保持不变
+            next = limit + Math.sqrt(limit) * GROWTH_RATE;
+        } else {
+            return;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    /**
+     * 一个路由组的延迟统计，字段由所属 {@link AdaptiveConcurrencyLimit} 的锁保护
+     */
+    public static final class Group {
+        private double baselineNanos;
+        private long windowSum;
+        private int windowCount;
+        private int windowMaxConcurrency;
+        private long windowStart = System.nanoTime();
+
+        private Group() {
+        }
+    }
+}
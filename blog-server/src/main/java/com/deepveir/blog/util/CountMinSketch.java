@@ -0,0 +1,88 @@
+package com.deepveir.blog.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 无锁 Count-Min Sketch：固定内存的近似计数器
+ * depth 行、每行 width 个计数器，每个键在每行按不同的哈希落到一个计数器上，估计值取各行最小值。
+ * 估计值只会偏大不会偏小，偏大的程度随写入总量与 width 之比增长；内存占用与键的数量无关。
+ * 计数器只做原子自增；按时间窗口重置时整体换一个新实例，需要保留历史趋势时用 {@link #halve()} 衰减。
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicIntegerArray counters;
+
+    /**
+     * @param depth 行数（哈希函数个数）
+     * @param width 每行计数器数，向上取整为 2 的幂
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || depth > 16 || width <= 0 || width > (1 << 24)) {
+            throw new IllegalArgumentException("Invalid sketch size: " + depth + "x" + width);
+        }
+        int rounded = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+        this.depth = depth;
+        this.mask = rounded - 1;
+        this.counters = new AtomicIntegerArray(depth * rounded);
+    }
+
+    /**
+     * 计数加一，返回加一之后的估计值
+     */
+    public int increment(String key) {
+        long hash = hash(key);
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.incrementAndGet(index(hash, row)));
+        }
+        return min;
+    }
+
+    public int estimate(String key) {
+        long hash = hash(key);
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(index(hash, row)));
+        }
+        return min;
+    }
+
+    /**
+     * 所有计数减半，让旧的访问频率逐渐失效
+     * 与并发的自增之间不是原子的，个别计数可能多减或少减一次，对近似计数没有影响
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+    }
+
+    /**
+     * 双重哈希：第 row 行使用 h1 + row * h2，只需计算一次 64 位哈希
+     */
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+
+    /**
+     * FNV-1a 64 位，再做一次 murmur3 fmix 打散低位
+     */
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
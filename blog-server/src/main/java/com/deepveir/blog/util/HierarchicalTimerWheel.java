@@ -0,0 +1,147 @@
+package com.deepveir.blog.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分层时间轮
+ * 第 0 层每格代表一个 tick，第 n 层每格代表 wheelSize^n 个 tick；到达上层格子的起点时，
+ * 将其中的任务重新分配到下层（cascade），最终在第 0 层到期。
+ * 超出最高层范围的任务放入溢出表，在最高层转满一圈时重新分配。
+ * 调度与取消均为 O(1)，推进一个 tick 的代价与到期 / 下放的任务数成正比，与任务总数无关。
+ *
+ * 线程安全：所有方法均同步，调用方按固定节奏调用 {@link #advance(long)} 取出到期的 key。
+ */
+public class HierarchicalTimerWheel<K> {
+
+    private final long tickMs;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+
+    // wheels[level][slot]: key -> 到期 tick
+    private final List<List<Map<K, Long>>> wheels = new ArrayList<>();
+    private final Map<K, Long> overflow = new LinkedHashMap<>();
+    private final Map<K, Long> due = new LinkedHashMap<>();
+    // key 当前所在的容器，用于 O(1) 取消
+    private final Map<K, Map<K, Long>> index = new HashMap<>();
+
+    private long currentTick;
+
+    /**
+     * @param tickMs    每个 tick 的毫秒数
+     * @param wheelBits 每层格子数的位数（格子数 = 2^wheelBits）
+     * @param levels    层数
+     * @param nowMs     当前时间
+     */
+    public HierarchicalTimerWheel(long tickMs, int wheelBits, int levels, long nowMs) {
+        if (tickMs <= 0 || wheelBits <= 0 || levels <= 0 || (long) wheelBits * levels >= 62) {
+            throw new IllegalArgumentException("Invalid timer wheel configuration");
+        }
+        this.tickMs = tickMs;
+        this.bits = wheelBits;
+        this.mask = (1 << wheelBits) - 1;
+        this.levels = levels;
+        for (int level = 0; level < levels; level++) {
+            List<Map<K, Long>> slots = new ArrayList<>(1 << wheelBits);
+            for (int slot = 0; slot <= mask; slot++) {
+                slots.add(new LinkedHashMap<>());
+            }
+            wheels.add(slots);
+        }
+        this.currentTick = nowMs / tickMs;
+    }
+
+    /**
+     * 调度（或重新调度）一个任务，同一个 key 只保留最后一次调度
+     */
+    public synchronized void schedule(K key, long deadlineMs) {
+        cancel(key);
+        // 向上取整，保证不早于 deadline 触发
+        long deadlineTick = (deadlineMs + tickMs - 1) / tickMs;
+        place(key, deadlineTick);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Map<K, Long> container = index.remove(key);
+        if (container == null) {
+            return false;
+        }
+        container.remove(key);
+        return true;
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * 推进到 nowMs，返回期间到期的 key（按到期先后）
+     */
+    public synchronized List<K> advance(long nowMs) {
+        List<K> expired = new ArrayList<>();
+        drain(due, expired);
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // 从最高层往下 cascade，上层下放的任务可以在同一个 tick 内继续下放或到期
+            if ((currentTick & ((1L << (bits * levels)) - 1)) == 0 && !overflow.isEmpty()) {
+                Map<K, Long> pending = new LinkedHashMap<>(overflow);
+                overflow.clear();
+                reinsert(pending);
+            }
+            for (int level = levels - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    Map<K, Long> slot = wheels.get(level).get((int) ((currentTick >>> (bits * level)) & mask));
+                    if (!slot.isEmpty()) {
+                        Map<K, Long> pending = new LinkedHashMap<>(slot);
+                        slot.clear();
+                        reinsert(pending);
+                    }
+                }
+            }
+            drain(wheels.get(0).get((int) (currentTick & mask)), expired);
+            drain(due, expired);
+        }
+        return expired;
+    }
+
+    private void reinsert(Map<K, Long> pending) {
+        for (Map.Entry<K, Long> entry : pending.entrySet()) {
+            index.remove(entry.getKey());
+            place(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void place(K key, long deadlineTick) {
+        Map<K, Long> container;
+        long delta = deadlineTick - currentTick;
+        if (delta <= 0) {
+            container = due;
+        } else {
+            container = overflow;
+            for (int level = 0; level < levels; level++) {
+                if (delta < (1L << (bits * (level + 1)))) {
+                    container = wheels.get(level).get((int) ((deadlineTick >>> (bits * level)) & mask));
+                    break;
+                }
+            }
+        }
+        container.put(key, deadlineTick);
+        index.put(key, container);
+    }
+
+    private void drain(Map<K, Long> container, List<K> expired) {
+        if (container.isEmpty()) {
+            return;
+        }
+        for (K key : container.keySet()) {
+            index.remove(key);
+            expired.add(key);
+        }
+        container.clear();
+    }
+}
@@ -1,5 +1,6 @@
 package com.deepveir.blog.util;
 
+import com.deepveir.blog.entity.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,10 +28,11 @@ public class JwtUtil {
     /**
      * 生成 JWT Token（带版本号，用于单点登录）
      */
-    public String generateToken(String userId, String email, String roleName, Integer tokenVersion) {
+    public String generateToken(String userId, String email, String roleId, String roleName, Integer tokenVersion) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("email", email);
+        claims.put("roleId", roleId);
         claims.put("roleName", roleName);
         claims.put("tokenVersion", tokenVersion != null ? tokenVersion : 1);
 
@@ -68,6 +70,13 @@ public class JwtUtil {
         return getClaims(token).get("userId", String.class);
     }
 
+    /**
+     * 获取角色 ID（roles.role_id）
+     */
+    public String getRoleId(String token) {
+        return getClaims(token).get("roleId", String.class);
+    }
+
     /**
      * 获取角色名称
      */
@@ -94,6 +103,17 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Token 有效且角色为超级管理员；只校验签名与过期时间，不查询数据库
+     */
+    public boolean isAdmin(String token) {
+        try {
+            return Role.ADMIN_ROLE_ID.equalsIgnoreCase(getClaims(token).get("roleId", String.class));
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     /**
      * 检查 Token 是否过期
      */
@@ -0,0 +1,326 @@
+package com.deepveir.blog.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按行计算两个文本版本之间的差异，编码为 COPY / INSERT 指令流
+ * COPY(start, count) 复制旧版本的连续行，INSERT(lines) 插入新行，被删除的行不需要指令。
+ * 差异使用线性空间的 Myers 算法计算（先去掉公共前后缀），编辑距离超过 maxEdits 时放弃，由调用方改存全文。
+ *
+ * 指令流格式（DataOutput）：
+ *   1 int start, int count          COPY
+ *   2 int count, {int len, bytes}*  INSERT（UTF-8）
+ *   0                               结束
+ */
+public final class LineDelta {
+
+    private static final int OP_END = 0;
+    private static final int OP_COPY = 1;
+    private static final int OP_INSERT = 2;
+
+    private LineDelta() {
+    }
+
+    /**
+     * 按 '\n' 切分并保留换行符，拼接后与原文完全一致
+     */
+    public static List<String> split(String text) {
+        List<String> lines = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return lines;
+        }
+        int start = 0;
+        int index;
+        while ((index = text.indexOf('\n', start)) >= 0) {
+            lines.add(text.substring(start, index + 1));
+            start = index + 1;
+        }
+        if (start < text.length()) {
+            lines.add(text.substring(start));
+        }
+        return lines;
+    }
+
+    public static String join(List<String> lines) {
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines) {
+            sb.append(line);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 计算 base -> target 的指令流；编辑距离超过 maxEdits 时返回 null
+     */
+    public static byte[] encode(List<String> base, List<String> target, int maxEdits) {
+        // 行映射为整数，比较时不再逐字符比较字符串
+        Map<String, Integer> ids = new HashMap<>();
+        int[] a = new int[base.size()];
+        int[] b = new int[target.size()];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = ids.computeIfAbsent(base.get(i), k -> ids.size());
+        }
+        for (int i = 0; i < b.length; i++) {
+            b[i] = ids.computeIfAbsent(target.get(i), k -> ids.size());
+        }
+
+        int prefix = 0;
+        while (prefix < a.length && prefix < b.length && a[prefix] == b[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.length - prefix && suffix < b.length - prefix
+                && a[a.length - 1 - suffix] == b[b.length - 1 - suffix]) {
+            suffix++;
+        }
+        int n = a.length - prefix - suffix;
+        int m = b.length - prefix - suffix;
+
+        // matchOf[j] = 与 target 第 prefix+j 行对应的 base 行号，-1 表示新插入
+        int[] matchOf = new int[m];
+        if (!diff(a, prefix, n, b, prefix, m, maxEdits, matchOf)) {
+            return null;
+        }
+
+        Ops ops = new Ops();
+        ops.copy(0, prefix);
+        int j = 0;
+        while (j < m) {
+            if (matchOf[j] >= 0) {
+                int start = matchOf[j];
+                int count = 1;
+                while (j + count < m && matchOf[j + count] == start + count) {
+                    count++;
+                }
+                ops.copy(start, count);
+                j += count;
+            } else {
+                int from = j;
+                while (j < m && matchOf[j] < 0) {
+                    j++;
+                }
+                ops.insert(target.subList(prefix + from, prefix + j));
+            }
+        }
+        ops.copy(a.length - suffix, suffix);
+        return ops.finish();
+    }
+
+    /**
+     * 将指令流应用到 base 上得到新版本
+     */
+    public static List<String> apply(List<String> base, DataInput in) throws IOException {
+        List<String> result = new ArrayList<>();
+        while (true) {
+            int op = in.readUnsignedByte();
+            if (op == OP_END) {
+                return result;
+            }
+            if (op == OP_COPY) {
+                int start = in.readInt();
+                int count = in.readInt();
+                if (start < 0 || count < 0 || start + count > base.size()) {
+                    throw new IOException("Corrupt delta: copy " + start + "+" + count + " of " + base.size());
+                }
+                result.addAll(base.subList(start, start + count));
+            } else if (op == OP_INSERT) {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    result.add(new String(bytes, StandardCharsets.UTF_8));
+                }
+            } else {
+                throw new IOException("Corrupt delta: unknown op " + op);
+            }
+        }
+    }
+
+    /**
+     * Myers 差异算法（线性空间的分治形式），在 a[aOff, aOff+n) 与 b[bOff, bOff+m) 之间求最短编辑脚本，结果写入 matchOf
+     * 每次从两端同时搜索找到中间的分割点后递归处理两侧，只需要两个长度 O(n + m) 的数组，与编辑距离无关。
+     */
+    private static boolean diff(int[] a, int aOff, int n, int[] b, int bOff, int m, int maxEdits, int[] matchOf) {
+        Arrays.fill(matchOf, -1);
+        if (n == 0 || m == 0) {
+            return n + m <= maxEdits;
+        }
+        if (!new Myers(a, b, bOff, matchOf, n + m).compare(aOff, aOff + n, bOff, bOff + m, maxEdits)) {
+            return false;
+        }
+        // 搜索轮数按 maxEdits 的一半放宽，这里按实际编辑距离精确判断
+        int matched = 0;
+        for (int aIdx : matchOf) {
+            if (aIdx >= 0) {
+                matched++;
+            }
+        }
+        return n + m - 2L * matched <= maxEdits;
+    }
+
+    private static final class Myers {
+        private final int[] a;
+        private final int[] b;
+        private final int bOff;
+        private final int[] matchOf;
+        // 正向与反向搜索在每条对角线上到达的最远 x，递归调用之间复用
+        private final int[] forward;
+        private final int[] backward;
+
+        Myers(int[] a, int[] b, int bOff, int[] matchOf, int size) {
+            this.a = a;
+            this.b = b;
+            this.bOff = bOff;
+            this.matchOf = matchOf;
+            int length = 2 * ((size + 1) / 2) + 2;
+            this.forward = new int[length];
+            this.backward = new int[length];
+        }
+
+        /**
+         * 比较 a[aLo, aHi) 与 b[bLo, bHi)；maxEdits 只在最外层生效，编辑距离超出时返回 false
+         */
+        boolean compare(int aLo, int aHi, int bLo, int bHi, int maxEdits) {
+            while (aLo < aHi && bLo < bHi && a[aLo] == b[bLo]) {
+                matchOf[bLo++ - bOff] = aLo++;
+            }
+            while (aLo < aHi && bLo < bHi && a[aHi - 1] == b[bHi - 1]) {
+                matchOf[--bHi - bOff] = --aHi;
+            }
+            if (aLo == aHi || bLo == bHi) {
+                return true;
+            }
+            int n = aHi - aLo;
+            int m = bHi - bLo;
+            int maxD = (n + m + 1) / 2;
+            int offset = maxD;
+            int length = 2 * maxD + 2;
+            Arrays.fill(forward, 0, length, -1);
+            Arrays.fill(backward, 0, length, -1);
+            forward[offset + 1] = 0;
+            backward[offset + 1] = 0;
+            int delta = n - m;
+            // 总长度为奇数时在正向搜索中检查重叠，否则在反向搜索中检查
+            boolean front = (delta & 1) != 0;
+            int k1Start = 0;
+            int k1End = 0;
+            int k2Start = 0;
+            int k2End = 0;
+            // 编辑距离为 D 时在第 (D + 1) / 2 轮之前找到分割点
+            int limit = (int) Math.min(maxD, maxEdits / 2L + 2);
+            for (int d = 0; d < limit; d++) {
+                for (int k1 = -d + k1Start; k1 <= d - k1End; k1 += 2) {
+                    int k1Offset = offset + k1;
+                    int x1 = (k1 == -d || (k1 != d && forward[k1Offset - 1] < forward[k1Offset + 1]))
+                            ? forward[k1Offset + 1] : forward[k1Offset - 1] + 1;
+                    int y1 = x1 - k1;
+                    while (x1 < n && y1 < m && a[aLo + x1] == b[bLo + y1]) {
+                        x1++;
+                        y1++;
+                    }
+                    forward[k1Offset] = x1;
+                    if (x1 > n) {
+                        k1End += 2;
+                    } else if (y1 > m) {
+                        k1Start += 2;
+                    } else if (front) {
+                        int k2Offset = offset + delta - k1;
+                        if (k2Offset >= 0 && k2Offset < length && backward[k2Offset] != -1
+                                && x1 >= n - backward[k2Offset]) {
+                            return split(aLo, aHi, bLo, bHi, x1, y1);
+                        }
+                    }
+                }
+                for (int k2 = -d + k2Start; k2 <= d - k2End; k2 += 2) {
+                    int k2Offset = offset + k2;
+                    int x2 = (k2 == -d || (k2 != d && backward[k2Offset - 1] < backward[k2Offset + 1]))
+                            ? backward[k2Offset + 1] : backward[k2Offset - 1] + 1;
+                    int y2 = x2 - k2;
+                    while (x2 < n && y2 < m && a[aHi - 1 - x2] == b[bHi - 1 - y2]) {
+                        x2++;
+                        y2++;
+                    }
+                    backward[k2Offset] = x2;
+                    if (x2 > n) {
+                        k2End += 2;
+                    } else if (y2 > m) {
+                        k2Start += 2;
+                    } else if (!front) {
+                        int k1Offset = offset + delta - k2;
+                        if (k1Offset >= 0 && k1Offset < length && forward[k1Offset] != -1) {
+                            int x1 = forward[k1Offset];
+                            int y1 = offset + x1 - k1Offset;
+                            if (x1 >= n - x2) {
+                                return split(aLo, aHi, bLo, bHi, x1, y1);
+                            }
+                        }
+                    }
+                }
+            }
+            // 搜索完所有轮次仍未重叠说明两段没有公共行；提前结束说明编辑距离超出上限
+            return limit == maxD;
+        }
+
+        private boolean split(int aLo, int aHi, int bLo, int bHi, int x, int y) {
+            compare(aLo, aLo + x, bLo, bLo + y, Integer.MAX_VALUE);
+            compare(aLo + x, aHi, bLo + y, bHi, Integer.MAX_VALUE);
+            return true;
+        }
+    }
+
+    private static final class Ops {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        void copy(int start, int count) {
+            if (count <= 0) {
+                return;
+            }
+            write(() -> {
+                out.writeByte(OP_COPY);
+                out.writeInt(start);
+                out.writeInt(count);
+            });
+        }
+
+        void insert(List<String> lines) {
+            write(() -> {
+                out.writeByte(OP_INSERT);
+                out.writeInt(lines.size());
+                for (String line : lines) {
+                    byte[] utf8 = line.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(utf8.length);
+                    out.write(utf8);
+                }
+            });
+        }
+
+        byte[] finish() {
+            write(() -> out.writeByte(OP_END));
+            return bytes.toByteArray();
+        }
+
+        private void write(IoAction action) {
+            try {
+                action.run();
+            } catch (IOException e) {
+                // ByteArrayOutputStream 不会抛出 IOException
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
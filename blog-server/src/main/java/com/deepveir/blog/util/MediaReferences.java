@@ -0,0 +1,32 @@
+package com.deepveir.blog.util;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 从封面、头像地址与 Markdown 正文中提取引用的本地媒体文件（内容哈希）
+ * 匹配 /api/media/{hash} 与 /api/images/{hash}[-{width}]，与地址前面的域名无关。
+ */
+public final class MediaReferences {
+
+    private static final Pattern MEDIA_URL = Pattern.compile("/api/(?:media|images)/([0-9a-f]{64})");
+
+    private MediaReferences() {
+    }
+
+    public static Set<String> extract(String... texts) {
+        Set<String> hashes = new HashSet<>();
+        for (String text : texts) {
+            if (text == null || text.isEmpty()) {
+                continue;
+            }
+            Matcher m = MEDIA_URL.matcher(text);
+            while (m.find()) {
+                hashes.add(m.group(1));
+            }
+        }
+        return hashes;
+    }
+}
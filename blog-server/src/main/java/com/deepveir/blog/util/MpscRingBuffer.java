@@ -0,0 +1,104 @@
+package com.deepveir.blog.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * 有界无锁环形队列（多生产者 / 单消费者）
+ * 每个槽位带一个序号：序号等于写入位置时可写，等于写入位置 + 1 时可读。
+ * 生产者通过 CAS 抢占写入位置，队列满时 {@link #offer} 直接返回 false，由调用方决定丢弃或等待；
+ * 只允许一个线程调用 {@link #drain}。
+ */
+public class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // 只由消费者线程修改，volatile 仅用于 size() 的近似读取
+    private volatile long head;
+
+    /**
+     * @param capacity 容量，向上取整为 2 的幂
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid ring buffer capacity: " + capacity);
+        }
+        this.capacity = roundUp(capacity);
+        this.mask = this.capacity - 1;
+        this.buffer = new Object[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    private static int roundUp(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+
+    /**
+     * 写入一个元素，队列已满时返回 false
+     */
+    public boolean offer(E element) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+            // difference > 0：其他生产者已占用该位置，重新读取 tail
+        }
+        buffer[index] = element;
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * 取出最多 max 个元素交给 consumer，返回实际取出的数量（仅限单个消费者线程调用）
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<E> consumer, int max) {
+        long current = head;
+        int count = 0;
+        while (count < max) {
+            int index = (int) (current & mask);
+            if (sequences.get(index) != current + 1) {
+                break;
+            }
+            E element = (E) buffer[index];
+            buffer[index] = null;
+            sequences.set(index, current + capacity);
+            head = ++current;
+            count++;
+            consumer.accept(element);
+        }
+        return count;
+    }
+
+    /**
+     * 近似的当前元素数
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
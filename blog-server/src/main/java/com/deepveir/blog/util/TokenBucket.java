@@ -0,0 +1,49 @@
+package com.deepveir.blog.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶（GCRA 形式）
+ * 不保存令牌数，只保存“理论到达时间” tat：每放行一个请求 tat 向后推 1 / rate，
+ * tat 超前当前时间超过 burst 个间隔时拒绝。状态只有一个 AtomicLong，放行与拒绝都是 O(1)。
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param ratePerSecond 平均每秒放行数
+     * @param burst         允许的突发请求数
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Invalid token bucket: rate=" + ratePerSecond + ", burst=" + burst);
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, now) + intervalNanos;
+            if (next - now > toleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 令牌已经回满，与新建的桶状态相同
+     */
+    public boolean isIdle() {
+        return theoreticalArrival.get() - System.nanoTime() <= 0;
+    }
+}
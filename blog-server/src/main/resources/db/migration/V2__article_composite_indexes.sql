@@ -0,0 +1,63 @@
+-- ----------------------------
+-- 文章查询的组合索引
+-- ----------------------------
+-- 覆盖 ArticleRepository 中的过滤 / 排序列：
+--   idx_articles_status_published          findPublishedSummaries / findFeedEntries / findPublishedSitemapEntries / findScheduledEntries
+--   idx_articles_category_status_published findRelatedByCategory
+--   idx_articles_create_time               默认列表（create_time DESC）
+--   idx_article_tags_tag_article           findRelatedByTags，同时作为 FK_article_tags_tag 的外键索引，
+--                                          取代基线中单列的 FK_article_tags_tag 索引（与新库的 schema.sql 一致）
+-- 每条语句先检查索引是否存在（新库的 schema.sql 已包含这些索引），
+-- 使用 ALGORITHM=INPLACE, LOCK=NONE 在线创建，不阻塞读写。
+-- 在线 DDL 开始和结束时仍需短暂的元数据锁，限制等待时间，避免排在长事务后面阻塞所有查询；
+-- 超时后迁移失败，可以稍后重试（每条语句都会跳过已存在的索引）。
+
+SET SESSION lock_wait_timeout = 10;
+
+SET @ddl = IF(
+  (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'articles' AND index_name = 'idx_articles_status_published') = 0,
+  'ALTER TABLE `articles` ADD INDEX `idx_articles_status_published` (`status`, `published_at`, `article_id`), ALGORITHM=INPLACE, LOCK=NONE',
+  'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(
+  (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'articles' AND index_name = 'idx_articles_category_status_published') = 0,
+  'ALTER TABLE `articles` ADD INDEX `idx_articles_category_status_published` (`category_id`, `status`, `published_at`), ALGORITHM=INPLACE, LOCK=NONE',
+  'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(
+  (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'articles' AND index_name = 'idx_articles_create_time') = 0,
+  'ALTER TABLE `articles` ADD INDEX `idx_articles_create_time` (`create_time`), ALGORITHM=INPLACE, LOCK=NONE',
+  'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(
+  (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'article_tags' AND index_name = 'idx_article_tags_tag_article') = 0,
+  'ALTER TABLE `article_tags` ADD INDEX `idx_article_tags_tag_article` (`tag_id`, `article_id`), ALGORITHM=INPLACE, LOCK=NONE',
+  'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 组合索引以 tag_id 开头，可以满足外键约束对索引的要求；确认组合索引已存在后再删除冗余的单列索引
+SET @ddl = IF(
+  (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'article_tags' AND index_name = 'idx_article_tags_tag_article') > 0
+  AND (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'article_tags' AND index_name = 'FK_article_tags_tag') > 0,
+  'ALTER TABLE `article_tags` DROP INDEX `FK_article_tags_tag`, ALGORITHM=INPLACE, LOCK=NONE',
+  'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,19 @@
+-- ----------------------------
+-- 后台操作审计日志
+-- ----------------------------
+-- 只追加写入，由 AuditService 的后台线程批量 INSERT；
+-- 按时间、实体、操作人三个维度查询，对应三个索引。
+
+CREATE TABLE IF NOT EXISTS `audit_logs` (
+  `id` BIGINT AUTO_INCREMENT PRIMARY KEY,
+  `actor_id` VARCHAR(50) DEFAULT NULL COMMENT '操作人 user_id',
+  `actor_email` VARCHAR(100) DEFAULT NULL COMMENT '操作人邮箱',
+  `action` VARCHAR(20) NOT NULL COMMENT 'create / update / delete',
+  `entity_type` VARCHAR(50) NOT NULL COMMENT '实体类型',
+  `entity_id` VARCHAR(100) DEFAULT NULL COMMENT '实体业务 ID',
+  `changes` TEXT COMMENT '字段差异 JSON：{字段: [旧值, 新值]}',
+  `create_time` DATETIME(6) NOT NULL,
+  INDEX `idx_audit_logs_create_time` (`create_time`),
+  INDEX `idx_audit_logs_entity` (`entity_type`, `entity_id`, `create_time`),
+  INDEX `idx_audit_logs_actor` (`actor_id`, `create_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='后台操作审计日志';
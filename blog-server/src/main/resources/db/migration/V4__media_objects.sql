@@ -0,0 +1,16 @@
+-- ----------------------------
+-- 内容寻址的本地媒体文件
+-- ----------------------------
+-- 文件本身保存在 blog.media.dir/objects，这里记录类型、大小与引用计数；
+-- 回收时按 ref_count = 0 与释放 / 上传时间筛选候选。
+
+CREATE TABLE IF NOT EXISTS `media_objects` (
+  `hash` CHAR(64) NOT NULL COMMENT '内容 SHA-256',
+  `content_type` VARCHAR(100) NOT NULL,
+  `size` BIGINT NOT NULL,
+  `ref_count` INT NOT NULL DEFAULT 0 COMMENT '引用该文件的文章 / 用户数',
+  `create_time` DATETIME(6) NOT NULL,
+  `release_time` DATETIME(6) DEFAULT NULL COMMENT '引用数降为 0 的时间',
+  PRIMARY KEY (`hash`),
+  INDEX `idx_media_objects_gc` (`ref_count`, `release_time`, `create_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='内容寻址的本地媒体文件';
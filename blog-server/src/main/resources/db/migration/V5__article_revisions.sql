@@ -0,0 +1,20 @@
+-- ----------------------------
+-- 文章历史版本
+-- ----------------------------
+-- 正文按行差异压缩保存，每隔若干版本存一次全文快照；
+-- 读取版本 N 时按 (article_id, revision) 范围扫描 base_revision..N。
+
+CREATE TABLE IF NOT EXISTS `article_revisions` (
+  `id` BIGINT AUTO_INCREMENT PRIMARY KEY,
+  `article_id` VARCHAR(50) NOT NULL COMMENT 'References articles.article_id',
+  `revision` INT NOT NULL COMMENT '文章内的版本号，从 1 开始',
+  `base_revision` INT NOT NULL COMMENT '重建时起始的全文快照版本号，全文快照等于自身',
+  `kind` VARCHAR(10) NOT NULL COMMENT 'full / delta',
+  `title` VARCHAR(255) DEFAULT NULL,
+  `content_length` INT NOT NULL DEFAULT 0,
+  `content_hash` CHAR(64) NOT NULL COMMENT '正文 SHA-256，用于判断能否基于上一版本计算差异',
+  `data` MEDIUMBLOB NOT NULL COMMENT 'deflate 压缩的全文或差异指令',
+  `actor_id` VARCHAR(50) DEFAULT NULL,
+  `create_time` DATETIME(6) NOT NULL,
+  UNIQUE KEY `UK_article_revision` (`article_id`, `revision`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章历史版本';
@@ -0,0 +1,17 @@
+-- ----------------------------
+-- 文章自动保存草稿
+-- ----------------------------
+-- 每篇文章一行，由 DraftService 合并写入；与 articles / article_tags 分开，
+-- 自动保存不会改动已发布的内容。
+
+CREATE TABLE IF NOT EXISTS `article_drafts` (
+  `article_id` VARCHAR(50) NOT NULL COMMENT 'References articles.article_id',
+  `title` VARCHAR(255) DEFAULT NULL,
+  `summary` VARCHAR(512) DEFAULT NULL,
+  `content` LONGTEXT DEFAULT NULL,
+  `cover_image` VARCHAR(512) DEFAULT NULL,
+  `version` BIGINT NOT NULL COMMENT '编辑器提交的版本号，较旧的写入不覆盖较新的内容',
+  `actor_id` VARCHAR(50) DEFAULT NULL,
+  `update_time` DATETIME(6) NOT NULL,
+  PRIMARY KEY (`article_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章自动保存草稿';
@@ -1,4 +1,6 @@
 -- Database Initialization Script
+-- 全新安装使用的完整表结构（等同于 db/migration 下所有版本执行后的结果）。
+-- 已有数据库的结构变更请新增 db/migration/V<n>__*.sql，不要重新执行本脚本。
 -- Database: MySQL
 -- Character Set: utf8mb4
 
@@ -163,6 +165,12 @@ CREATE TABLE `articles` (
   UNIQUE KEY `UK_article_id` (`article_id`),
   KEY `FK_articles_author_id` (`author_id`),
   KEY `FK_articles_category_id` (`category_id`),
+  -- 已发布列表 / 订阅 / 站点地图 / 定时发布：status 过滤 + published_at 排序
+  KEY `idx_articles_status_published` (`status`, `published_at`, `article_id`),
+  -- 相关文章（按分类）：category_id + status 过滤 + published_at 排序
+  KEY `idx_articles_category_status_published` (`category_id`, `status`, `published_at`),
+  -- 默认列表按 create_time 倒序
+  KEY `idx_articles_create_time` (`create_time`),
   CONSTRAINT `FK_articles_author_id` FOREIGN KEY (`author_id`) REFERENCES `users` (`user_id`) ON DELETE SET NULL,
   CONSTRAINT `FK_articles_category_id` FOREIGN KEY (`category_id`) REFERENCES `categories` (`category_id`) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -174,7 +182,8 @@ CREATE TABLE `article_tags` (
   `article_id` varchar(50) NOT NULL,
   `tag_id` varchar(50) NOT NULL,
   PRIMARY KEY (`article_id`,`tag_id`),
-  KEY `FK_article_tags_tag` (`tag_id`),
+  -- 按标签查找文章（相关文章），同时作为 FK_article_tags_tag 的外键索引
+  KEY `idx_article_tags_tag_article` (`tag_id`, `article_id`),
   CONSTRAINT `FK_article_tags_article` FOREIGN KEY (`article_id`) REFERENCES `articles` (`article_id`) ON DELETE CASCADE,
   CONSTRAINT `FK_article_tags_tag` FOREIGN KEY (`tag_id`) REFERENCES `tags` (`tag_id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -455,4 +464,68 @@ This blog is built with:
 If you have any questions or suggestions, feel free to contact me.',
 'contact@deepveir.com', 'https://github.com/DeepVeir', 'https://www.deepveir.com', 1);
 
+-- ----------------------------
+-- 13. Table structure for audit_logs (审计日志)
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS `audit_logs` (
+  `id` BIGINT AUTO_INCREMENT PRIMARY KEY,
+  `actor_id` VARCHAR(50) DEFAULT NULL COMMENT '操作人 user_id',
+  `actor_email` VARCHAR(100) DEFAULT NULL COMMENT '操作人邮箱',
+  `action` VARCHAR(20) NOT NULL COMMENT 'create / update / delete',
+  `entity_type` VARCHAR(50) NOT NULL COMMENT '实体类型',
+  `entity_id` VARCHAR(100) DEFAULT NULL COMMENT '实体业务 ID',
+  `changes` TEXT COMMENT '字段差异 JSON：{字段: [旧值, 新值]}',
+  `create_time` DATETIME(6) NOT NULL,
+  INDEX `idx_audit_logs_create_time` (`create_time`),
+  INDEX `idx_audit_logs_entity` (`entity_type`, `entity_id`, `create_time`),
+  INDEX `idx_audit_logs_actor` (`actor_id`, `create_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='后台操作审计日志';
+
+-- ----------------------------
+-- 14. Table structure for media_objects (媒体文件)
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS `media_objects` (
+  `hash` CHAR(64) NOT NULL COMMENT '内容 SHA-256',
+  `content_type` VARCHAR(100) NOT NULL,
+  `size` BIGINT NOT NULL,
+  `ref_count` INT NOT NULL DEFAULT 0 COMMENT '引用该文件的文章 / 用户数',
+  `create_time` DATETIME(6) NOT NULL,
+  `release_time` DATETIME(6) DEFAULT NULL COMMENT '引用数降为 0 的时间',
+  PRIMARY KEY (`hash`),
+  INDEX `idx_media_objects_gc` (`ref_count`, `release_time`, `create_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='内容寻址的本地媒体文件';
+
+-- ----------------------------
+-- 15. Table structure for article_revisions (文章历史版本)
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS `article_revisions` (
+  `id` BIGINT AUTO_INCREMENT PRIMARY KEY,
+  `article_id` VARCHAR(50) NOT NULL COMMENT 'References articles.article_id',
+  `revision` INT NOT NULL COMMENT '文章内的版本号，从 1 开始',
+  `base_revision` INT NOT NULL COMMENT '重建时起始的全文快照版本号，全文快照等于自身',
+  `kind` VARCHAR(10) NOT NULL COMMENT 'full / delta',
+  `title` VARCHAR(255) DEFAULT NULL,
+  `content_length` INT NOT NULL DEFAULT 0,
+  `content_hash` CHAR(64) NOT NULL COMMENT '正文 SHA-256，用于判断能否基于上一版本计算差异',
+  `data` MEDIUMBLOB NOT NULL COMMENT 'deflate 压缩的全文或差异指令',
+  `actor_id` VARCHAR(50) DEFAULT NULL,
+  `create_time` DATETIME(6) NOT NULL,
+  UNIQUE KEY `UK_article_revision` (`article_id`, `revision`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章历史版本';
+
+-- ----------------------------
+-- 16. Table structure for article_drafts (自动保存草稿)
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS `article_drafts` (
+  `article_id` VARCHAR(50) NOT NULL COMMENT 'References articles.article_id',
+  `title` VARCHAR(255) DEFAULT NULL,
+  `summary` VARCHAR(512) DEFAULT NULL,
+  `content` LONGTEXT DEFAULT NULL,
+  `cover_image` VARCHAR(512) DEFAULT NULL,
+  `version` BIGINT NOT NULL COMMENT '编辑器提交的版本号，较旧的写入不覆盖较新的内容',
+  `actor_id` VARCHAR(50) DEFAULT NULL,
+  `update_time` DATETIME(6) NOT NULL,
+  PRIMARY KEY (`article_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章自动保存草稿';
+
 SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,162 @@
+package com.deepveir.blog.repository;
+
+import com.deepveir.blog.entity.Article;
+import com.deepveir.blog.repository.StatementRecorder.RecordedStatement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * ArticleRepository 查询计划回归检查
+ * 在回滚的测试事务中调用每个查询方法，由 {@link StatementRecorder} 记录 Hibernate 实际生成的 SQL 与绑定参数，
+ * 再对这些 SQL 执行 EXPLAIN，出现全表扫描（type=ALL）或 filesort 即视为回退。
+ *
+ * 需要一个已迁移并导入了有代表性数据的 MySQL，未设置 QUERY_PLAN_DB_URL 时跳过：
+ *   QUERY_PLAN_DB_URL=jdbc:mysql://localhost:3306/blog_plan QUERY_PLAN_DB_USERNAME=root QUERY_PLAN_DB_PASSWORD=... \
+ *   mvn test -Dtest=ArticleQueryPlanTest
+ *
+ * 新增 ArticleRepository 的查询方法时在 {@link #checks} 中加入调用。
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=none"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(StatementRecorder.class)
+@EnabledIfEnvironmentVariable(named = "QUERY_PLAN_DB_URL", matches = ".+")
+class ArticleQueryPlanTest {
+
+    // 数据量太小时优化器倾向于直接全表扫描，此时的执行计划没有参考价值
+    private static final long MIN_ROWS = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("QUERY_PLAN_DB_URL"));
+        registry.add("spring.datasource.username", () -> env("QUERY_PLAN_DB_USERNAME", "root"));
+        registry.add("spring.datasource.password", () -> env("QUERY_PLAN_DB_PASSWORD", ""));
+    }
+
+    @Test
+    void articleQueriesUseIndexes() {
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM articles", Long.class);
+        assumeTrue(rows != null && rows >= MIN_ROWS,
+                "articles has " + rows + " row(s), at least " + MIN_ROWS + " required");
+
+        List<String> problems = new ArrayList<>();
+        for (Map.Entry<String, PlanCheck> entry : checks().entrySet()) {
+            // 测试事务结束时回滚，publishIfDue 等写操作不产生影响
+            List<RecordedStatement> recorded = statementRecorder.record(entry.getValue().call());
+            if (recorded.isEmpty()) {
+                problems.add(entry.getKey() + ": no SQL statement was executed");
+            }
+            for (int i = 0; i < recorded.size(); i++) {
+                String name = recorded.size() > 1 ? entry.getKey() + "#" + (i + 1) : entry.getKey();
+                problems.addAll(explain(name, recorded.get(i), entry.getValue().allowed()));
+            }
+        }
+        assertTrue(problems.isEmpty(), () -> "Query plan regressions:\n" + String.join("\n", problems));
+    }
+
+    private Map<String, PlanCheck> checks() {
+        String articleId = sample("SELECT article_id FROM articles LIMIT 1", "none");
+        String categoryId = sample("SELECT category_id FROM articles WHERE category_id IS NOT NULL LIMIT 1", "none");
+        String authorId = sample("SELECT author_id FROM articles WHERE author_id IS NOT NULL LIMIT 1", "none");
+        List<String> tagIds = jdbcTemplate.queryForList("SELECT tag_id FROM article_tags LIMIT 2", String.class);
+        if (tagIds.isEmpty()) {
+            tagIds = List.of("none");
+        }
+        List<String> sampleTagIds = tagIds;
+        UUID id = articleRepository.findByArticleId(articleId).map(Article::getId).orElse(new UUID(0, 0));
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, PlanCheck> checks = new LinkedHashMap<>();
+        checks.put("findByArticleId", new PlanCheck(() -> articleRepository.findByArticleId(articleId), Set.of()));
+        checks.put("findWithDetailsById", new PlanCheck(() -> articleRepository.findWithDetailsById(id), Set.of()));
+        checks.put("findAllWithDetails(createTime DESC)", new PlanCheck(() -> articleRepository.findAllWithDetails(
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createTime"))), Set.of()));
+        checks.put("existsByArticleId", new PlanCheck(() -> articleRepository.existsByArticleId(articleId), Set.of()));
+        checks.put("findArticleIdById", new PlanCheck(() -> articleRepository.findArticleIdById(id), Set.of()));
+        checks.put("findPublishedArticleIdsByAuthor", new PlanCheck(
+                () -> articleRepository.findPublishedArticleIdsByAuthor(authorId), Set.of()));
+        checks.put("findRelatedByCategory", new PlanCheck(() -> articleRepository.findRelatedByCategory(
+                categoryId, articleId, PageRequest.of(0, 4)), Set.of()));
+        // DISTINCT + 多标签 IN 的结果需要去重后再排序，临时表与 filesort 无法避免，
+        // 这里只要求两张表都走索引，且参与排序的只是少量候选行
+        checks.put("findRelatedByTags", new PlanCheck(() -> articleRepository.findRelatedByTags(
+                sampleTagIds, articleId, PageRequest.of(0, 4)), Set.of("Using filesort")));
+        checks.put("findPublishedSummaries", new PlanCheck(articleRepository::findPublishedSummaries, Set.of()));
+        checks.put("findPublishedArticleTagPairs", new PlanCheck(articleRepository::findPublishedArticleTagPairs, Set.of()));
+        checks.put("findSummariesByArticleIds", new PlanCheck(() -> articleRepository.findSummariesByArticleIds(
+                List.of(articleId)), Set.of()));
+        checks.put("findArticleTagPairs", new PlanCheck(() -> articleRepository.findArticleTagPairs(
+                List.of(articleId)), Set.of()));
+        checks.put("findFeedEntries", new PlanCheck(() -> articleRepository.findFeedEntries(PageRequest.of(0, 20)), Set.of()));
+        checks.put("findPublishedSitemapEntries", new PlanCheck(articleRepository::findPublishedSitemapEntries, Set.of()));
+        checks.put("findScheduledEntries", new PlanCheck(articleRepository::findScheduledEntries, Set.of()));
+        checks.put("publishIfDue", new PlanCheck(() -> articleRepository.publishIfDue(articleId, now), Set.of()));
+        return checks;
+    }
+
+    private List<String> explain(String name, RecordedStatement statement, Set<String> allowed) {
+        List<String> problems = new ArrayList<>();
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(),
+                statement.parameters().toArray());
+        for (Map<String, Object> row : plan) {
+            String table = String.valueOf(row.get("table"));
+            String type = String.valueOf(row.get("type"));
+            String extra = row.get("Extra") != null ? String.valueOf(row.get("Extra")) : "";
+            // <derived> / <union> 等内部临时表不在检查范围内
+            if (table.startsWith("<")) {
+                continue;
+            }
+            if ("ALL".equals(type)) {
+                problems.add(name + ": full table scan on " + table + " [" + statement.sql() + "]");
+            }
+            if (extra.contains("Using filesort") && !allowed.contains("Using filesort")) {
+                problems.add(name + ": filesort on " + table + " (" + extra + ") [" + statement.sql() + "]");
+            }
+        }
+        return problems;
+    }
+
+    private String sample(String sql, String defaultValue) {
+        List<String> values = jdbcTemplate.queryForList(sql, String.class);
+        return values.isEmpty() ? defaultValue : values.get(0);
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * 一个待检查的仓库方法：调用方式、允许出现的 Extra 项
+     */
+    private record PlanCheck(Runnable call, Set<String> allowed) {
+    }
+}
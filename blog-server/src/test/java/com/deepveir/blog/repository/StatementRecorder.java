@@ -0,0 +1,126 @@
+package com.deepveir.blog.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 记录当前线程通过 JDBC 实际执行的 SQL 与绑定参数，供 {@link ArticleQueryPlanTest} 对 Hibernate 生成的 SQL 执行 EXPLAIN
+ * 通过 @Import 注册后包装名为 dataSource 的 Bean；没有在 {@link #record} 中的线程只多一层方法转发，不记录任何内容。
+ */
+class StatementRecorder implements BeanPostProcessor {
+
+    private static final ThreadLocal<List<RecordedStatement>> RECORDING = new ThreadLocal<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+            return new RecordingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    /**
+     * 执行 action，返回期间当前线程执行的全部预编译语句
+     */
+    List<RecordedStatement> record(Runnable action) {
+        List<RecordedStatement> statements = new ArrayList<>();
+        List<RecordedStatement> previous = RECORDING.get();
+        RECORDING.set(statements);
+        try {
+            action.run();
+        } finally {
+            if (previous != null) {
+                RECORDING.set(previous);
+            } else {
+                RECORDING.remove();
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * 一条执行过的语句：SQL 与按位置排列的参数
+     */
+    record RecordedStatement(String sql, List<Object> parameters) {
+    }
+
+    private static final class RecordingDataSource extends DelegatingDataSource {
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private static Connection wrap(Connection connection) {
+            return proxy(Connection.class, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if ("prepareStatement".equals(method.getName()) && RECORDING.get() != null
+                        && result instanceof PreparedStatement statement) {
+                    return recording(statement, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, "setNull".equals(name) ? null : args[1]);
+                } else if ("clearParameters".equals(name)) {
+                    parameters.clear();
+                } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                    List<RecordedStatement> statements = RECORDING.get();
+                    if (statements != null) {
+                        statements.add(new RecordedStatement(sql, new ArrayList<>(parameters.values())));
+                    }
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        /**
+         * equals / hashCode 按代理对象自身的身份计算，其余方法交给 handler
+         */
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "equals" -> args != null && args.length == 1 ? proxy == args[0] : handler.invoke(proxy, method, args);
+                        case "hashCode" -> args == null ? System.identityHashCode(proxy) : handler.invoke(proxy, method, args);
+                        default -> handler.invoke(proxy, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
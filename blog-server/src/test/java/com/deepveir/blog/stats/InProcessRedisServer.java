@@ -0,0 +1,173 @@
+package com.deepveir.blog.stats;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 进程内的最小 Redis 服务端，只实现 {@link RedisVisitStore} 用到的 RESP2 命令（SADD、EXPIRE）与测试断言用到的 SCARD、TTL
+ * 客户端握手时发送的 HELLO 返回 unknown command，Lettuce 会退回 RESP2；CLIENT SETINFO 等直接返回 OK。
+ * 回复在输入缓冲区读空后才写出，与真实服务端处理流水线请求的方式一致。
+ * 收到的数据命令按顺序记录在 {@link #commands()} 中。
+ */
+class InProcessRedisServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Map<String, Set<String>> sets = new HashMap<>();
+    private final Map<String, Long> ttls = new HashMap<>();
+    private final List<List<String>> commands = new ArrayList<>();
+    private final List<Socket> clients = new ArrayList<>();
+
+    InProcessRedisServer() throws IOException {
+        serverSocket = new ServerSocket(0, 16, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "in-process-redis");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    synchronized List<List<String>> commands() {
+        return new ArrayList<>(commands);
+    }
+
+    synchronized int scard(String key) {
+        return sets.getOrDefault(key, Set.of()).size();
+    }
+
+    synchronized Long ttl(String key) {
+        return ttls.get(key);
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                synchronized (clients) {
+                    clients.add(socket);
+                }
+                Thread handler = new Thread(() -> serve(socket), "in-process-redis-client");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            while (true) {
+                List<String> command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                out.write(execute(command).getBytes(StandardCharsets.UTF_8));
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // 客户端断开
+        }
+    }
+
+    private synchronized String execute(List<String> command) {
+        String name = command.get(0).toUpperCase();
+        switch (name) {
+            case "HELLO":
+                return "-ERR unknown command 'HELLO'\r\n";
+            case "PING":
+                return "+PONG\r\n";
+            case "CLIENT":
+            case "SELECT":
+            case "QUIT":
+                return "+OK\r\n";
+            case "SADD": {
+                commands.add(command);
+                Set<String> set = sets.computeIfAbsent(command.get(1), k -> new HashSet<>());
+                int added = 0;
+                for (String member : command.subList(2, command.size())) {
+                    if (set.add(member)) {
+                        added++;
+                    }
+                }
+                return ":" + added + "\r\n";
+            }
+            case "EXPIRE": {
+                commands.add(command);
+                if (!sets.containsKey(command.get(1))) {
+                    return ":0\r\n";
+                }
+                ttls.put(command.get(1), Long.parseLong(command.get(2)));
+                return ":1\r\n";
+            }
+            default:
+                return "-ERR unknown command '" + command.get(0) + "'\r\n";
+        }
+    }
+
+    /**
+     * 读取一条 RESP 数组形式的命令，连接关闭时返回 null
+     */
+    private static List<String> readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        if (header.charAt(0) != '*') {
+            throw new IOException("Unsupported request: " + header);
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<String> command = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String length = readLine(in);
+            if (length == null || length.charAt(0) != '$') {
+                throw new IOException("Expected bulk string: " + length);
+            }
+            byte[] value = in.readNBytes(Integer.parseInt(length.substring(1)));
+            readLine(in);
+            command.add(new String(value, StandardCharsets.UTF_8));
+        }
+        return command;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\r') {
+                in.read();
+                return line.toString();
+            }
+            line.append((char) b);
+        }
+        return line.isEmpty() ? null : line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        synchronized (clients) {
+            for (Socket client : clients) {
+                client.close();
+            }
+        }
+    }
+}
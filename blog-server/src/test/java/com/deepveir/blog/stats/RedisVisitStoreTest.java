@@ -0,0 +1,90 @@
+package com.deepveir.blog.stats;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RedisVisitStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 31);
+    private static final LocalDate NEXT_DAY = DAY.plusDays(1);
+
+    private InProcessRedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisVisitStore store;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new InProcessRedisServer();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", server.getPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        store = new RedisVisitStore(new StringRedisTemplate(connectionFactory));
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        connectionFactory.destroy();
+        server.close();
+    }
+
+    @Test
+    void countsOnlyVisitorsNotSeenBeforeOnTheSameDay() {
+        Map<LocalDate, Long> first = store.addVisitors(batch(DAY, Set.of("a", "b"), NEXT_DAY, Set.of("a")));
+        assertEquals(Map.of(DAY, 2L, NEXT_DAY, 1L), first);
+
+        // b 当天已出现过；a 在另一天出现过，不影响这一天的计数
+        Map<LocalDate, Long> second = store.addVisitors(batch(DAY, Set.of("b", "c"), NEXT_DAY, Set.of("a", "b")));
+        assertEquals(Map.of(DAY, 1L, NEXT_DAY, 1L), second);
+
+        assertEquals(3, server.scard("blog:stats:uv:" + DAY));
+        assertEquals(2, server.scard("blog:stats:uv:" + NEXT_DAY));
+    }
+
+    @Test
+    void sendsSaddAndExpireForEachDay() {
+        store.addVisitors(batch(DAY, Set.of("a"), NEXT_DAY, Set.of("b")));
+
+        List<List<String>> commands = server.commands();
+        assertEquals(4, commands.size());
+        assertEquals(List.of("SADD", "blog:stats:uv:" + DAY, "a"), commands.get(0));
+        assertEquals(List.of("EXPIRE", "blog:stats:uv:" + DAY), commands.get(1).subList(0, 2));
+        assertEquals(List.of("SADD", "blog:stats:uv:" + NEXT_DAY, "b"), commands.get(2));
+        assertEquals(List.of("EXPIRE", "blog:stats:uv:" + NEXT_DAY), commands.get(3).subList(0, 2));
+        assertEquals(Duration.ofDays(2).getSeconds(), server.ttl("blog:stats:uv:" + DAY));
+        assertEquals(Duration.ofDays(2).getSeconds(), server.ttl("blog:stats:uv:" + NEXT_DAY));
+    }
+
+    @Test
+    void skipsDaysWithoutVisitorsAndReportsZero() {
+        Map<LocalDate, Long> added = store.addVisitors(batch(DAY, Set.of(), NEXT_DAY, Set.of("a", "b", "c")));
+
+        assertEquals(Map.of(DAY, 0L, NEXT_DAY, 3L), added);
+        assertEquals(2, server.commands().size());
+        assertEquals("blog:stats:uv:" + NEXT_DAY, server.commands().get(0).get(1));
+    }
+
+    /**
+     * 保持插入顺序，便于按顺序断言流水线中的命令
+     */
+    private static Map<LocalDate, Set<String>> batch(LocalDate day, Set<String> visitors,
+                                                     LocalDate nextDay, Set<String> nextVisitors) {
+        Map<LocalDate, Set<String>> batch = new LinkedHashMap<>();
+        batch.put(day, visitors);
+        batch.put(nextDay, nextVisitors);
+        return batch;
+    }
+}
@@ -0,0 +1,118 @@
+package com.deepveir.blog.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LineDeltaTest {
+
+    @Test
+    void splitAndJoinPreserveText() {
+        for (String text : List.of("", "a", "a\n", "a\nb", "a\n\nb\n", "\n\n", "中文\r\n行")) {
+            assertEquals(text, LineDelta.join(LineDelta.split(text)));
+        }
+    }
+
+    @Test
+    void roundTripsTypicalEdits() throws IOException {
+        assertRoundTrip("", "");
+        assertRoundTrip("", "a\nb\n");
+        assertRoundTrip("a\nb\n", "");
+        assertRoundTrip("a\nb\nc\n", "a\nb\nc\n");
+        assertRoundTrip("a\nb\nc\n", "a\nx\nb\nc\n");
+        assertRoundTrip("a\nb\nc\n", "a\nc\n");
+        assertRoundTrip("a\nb\nc\n", "a\nB\nc\n");
+        assertRoundTrip("a\nb\nc\n", "c\nb\na\n");
+        assertRoundTrip("a\nb", "a\nb\n");
+        assertRoundTrip("# 标题\n正文 😀\n", "# 标题\n修改后的正文 😀\n结尾");
+    }
+
+    @Test
+    void roundTripsRandomEdits() throws IOException {
+        Random random = new Random(42);
+        for (int round = 0; round < 2000; round++) {
+            int alphabet = 1 + random.nextInt(8);
+            List<String> base = randomLines(random, random.nextInt(40), alphabet);
+            List<String> target = new ArrayList<>(base);
+            int edits = random.nextInt(10);
+            for (int i = 0; i < edits; i++) {
+                int op = random.nextInt(3);
+                if (op == 0 || target.isEmpty()) {
+                    target.add(random.nextInt(target.size() + 1), "n" + random.nextInt(alphabet) + "\n");
+                } else if (op == 1) {
+                    target.remove(random.nextInt(target.size()));
+                } else {
+                    target.set(random.nextInt(target.size()), "r" + random.nextInt(alphabet) + "\n");
+                }
+            }
+            assertEquals(target, roundTrip(base, target, Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void roundTripsLargeDocument() throws IOException {
+        List<String> base = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            base.add("line " + i + "\n");
+        }
+        List<String> target = new ArrayList<>(base);
+        for (int i = 0; i < target.size(); i += 50) {
+            target.set(i, "changed " + i + "\n");
+        }
+        Collections.reverse(target.subList(100, 200));
+        assertEquals(target, roundTrip(base, target, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void returnsNullWhenEditsExceedLimit() {
+        List<String> base = LineDelta.split("a\nb\nc\nd\ne\nf\n");
+        // 替换 b、d、f：编辑距离为 6
+        List<String> target = LineDelta.split("a\nB\nc\nD\ne\nF\n");
+        assertNotNull(LineDelta.encode(base, target, 6));
+        assertNull(LineDelta.encode(base, target, 5));
+        assertNull(LineDelta.encode(base, target, 0));
+        assertNotNull(LineDelta.encode(base, base, 0));
+    }
+
+    @Test
+    void rejectsCopyOutsideBase() {
+        byte[] delta = LineDelta.encode(LineDelta.split("a\nb\nc\n"), LineDelta.split("a\nb\nc\nd\n"), 10);
+        assertNotNull(delta);
+        List<String> shorter = LineDelta.split("a\n");
+        assertThrows(IOException.class, () -> LineDelta.apply(shorter, input(delta)));
+    }
+
+    private static void assertRoundTrip(String base, String target) throws IOException {
+        List<String> result = roundTrip(LineDelta.split(base), LineDelta.split(target), Integer.MAX_VALUE);
+        assertEquals(target, LineDelta.join(result));
+    }
+
+    private static List<String> roundTrip(List<String> base, List<String> target, int maxEdits) throws IOException {
+        byte[] delta = LineDelta.encode(base, target, maxEdits);
+        assertNotNull(delta);
+        return LineDelta.apply(base, input(delta));
+    }
+
+    private static List<String> randomLines(Random random, int count, int alphabet) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add("l" + random.nextInt(alphabet) + "\n");
+        }
+        return lines;
+    }
+
+    private static DataInputStream input(byte[] delta) {
+        return new DataInputStream(new ByteArrayInputStream(delta));
+    }
+}
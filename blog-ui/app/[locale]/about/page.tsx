@@ -1,6 +1,7 @@
 "use client";
 
 import { useEffect, useState } from 'react';
+import { useLocale } from 'next-intl';
 import { API_BASE } from '@/lib/apiConfig';
 import { Github, Mail, Globe, Heart } from 'lucide-react';
 
@@ -53,13 +54,14 @@ const defaultContent: AboutContent = {
 };
 
 export default function AboutPage() {
+  const locale = useLocale();
   const [content, setContent] = useState<AboutContent>(defaultContent);
   const [loading, setLoading] = useState(true);
 
   useEffect(() => {
     const fetchAbout = async () => {
       try {
-        const res = await fetch(`${API_BASE}/api/pages/about`);
+        const res = await fetch(`${API_BASE}/api/pages/about/${locale === 'en' ? 'en' : 'zh'}`);
         if (res.ok) {
           const data = await res.json();
           if (data && data.content) {
@@ -80,7 +82,7 @@ export default function AboutPage() {
       }
     };
     fetchAbout();
-  }, []);
+  }, [locale]);
 
   // 简单的 Markdown 渲染
   const renderMarkdown = (text: string) => {
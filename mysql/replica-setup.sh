@@ -0,0 +1,36 @@
+#!/bin/sh
+# =================================
+# 本地从库初始化（docker-compose.replica.yml 使用）
+# =================================
+# 1. 从主库导出 blog 库（带 GTID 位置）导入从库
+# 2. 基于 GTID 自动定位开启复制
+# 3. 在从库创建应用账号（只读 + 延迟检测所需的 REPLICATION CLIENT）
+set -e
+
+PRIMARY="mysql -h mysql -uroot -p${MYSQL_ROOT_PASSWORD}"
+REPLICA="mysql -h mysql-replica -uroot -p${MYSQL_ROOT_PASSWORD}"
+
+if $REPLICA -N -e "SHOW REPLICA STATUS" | grep -q .; then
+  echo "Replica already configured"
+  exit 0
+fi
+
+# 从库以 super_read_only 启动，导入数据和创建账号期间临时关闭
+$REPLICA -e "SET GLOBAL super_read_only = OFF; RESET MASTER"
+mysqldump -h mysql -uroot -p"${MYSQL_ROOT_PASSWORD}" \
+  --single-transaction --set-gtid-purged=ON --databases "${MYSQL_DATABASE}" | $REPLICA
+
+$PRIMARY -e "CREATE USER IF NOT EXISTS 'repl'@'%' IDENTIFIED BY '${REPLICATION_PASSWORD}';
+  GRANT REPLICATION SLAVE ON *.* TO 'repl'@'%';"
+
+$REPLICA -e "CHANGE REPLICATION SOURCE TO SOURCE_HOST='mysql', SOURCE_USER='repl',
+    SOURCE_PASSWORD='${REPLICATION_PASSWORD}', SOURCE_AUTO_POSITION=1, GET_SOURCE_PUBLIC_KEY=1;
+  START REPLICA;
+  SET sql_log_bin = 0;
+  CREATE USER IF NOT EXISTS '${MYSQL_USER}'@'%' IDENTIFIED BY '${MYSQL_PASSWORD}';
+  GRANT SELECT ON \`${MYSQL_DATABASE}\`.* TO '${MYSQL_USER}'@'%';
+  GRANT REPLICATION CLIENT ON *.* TO '${MYSQL_USER}'@'%';
+  SET sql_log_bin = 1;
+  SET GLOBAL super_read_only = ON;"
+
+echo "Replica configured"